@@ -0,0 +1,49 @@
+package llanogas.demo.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de versión de una colección (p. ej. reportes) para
+ * responder GET condicionales: el ETag sale del contador, así que un
+ * If-None-Match que coincide se contesta con 304 sin consultar la base.
+ *
+ * Cada escritura llama a {@link #markChanged()}; dentro de una transacción
+ * el contador sube después del commit, para que nadie guarde en caché datos
+ * viejos con la versión nueva. El ETag incluye una marca del arranque, así
+ * que tras reiniciar todos los clientes vuelven a descargar.
+ *
+ * Vive en memoria: sólo ve los cambios que pasan por esta instancia.
+ */
+public class CollectionVersion {
+
+    private final String prefix;
+    private final AtomicLong version = new AtomicLong();
+
+    public CollectionVersion(String name) {
+        this.prefix = name + "-" + Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36) + "-";
+    }
+
+    /**
+     * ETag fuerte (con comillas) de la versión actual.
+     */
+    public String etag() {
+        return "\"" + prefix + version.get() + "\"";
+    }
+
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package llanogas.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pools de hilos para trabajo en segundo plano.
+ *
+ * Todos son acotados (hilos y cola): Hikari tiene sólo 5 conexiones y las
+ * requests interactivas no pueden quedarse sin ninguna por un proceso masivo.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Jobs de importación de reportes. Cada hilo usa a lo sumo una conexión
+     * (sólo mientras confirma un bloque); si la cola se llena se rechaza el job.
+     */
+    @Bean(name = "reportImportExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor reportImportExecutor(
+            @Value("${reports.import.jobs.pool-size:2}") int poolSize,
+            @Value("${reports.import.jobs.queue-capacity:10}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-import-");
+        // Que no le quite CPU a las requests
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Reconciliación de períodos (report_occurrences) después de guardar
+     * reportes. Un solo hilo: las tareas del mismo reporte se aplican en el
+     * orden en que se confirmaron, y a lo sumo ocupa una conexión. Si la cola
+     * se llena la tarea corre en el hilo que confirmó (ya fuera de su
+     * transacción) en vez de perderse hasta el refresco diario.
+     */
+    @Bean(name = "reportOccurrenceExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor reportOccurrenceExecutor(
+            @Value("${reports.occurrences.sync-queue-capacity:100}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-occurrences-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Envío de eventos SSE. Cada conexión tiene a lo sumo una tarea en cola
+     * a la vez, así que la cola nunca pasa del máximo de conexiones.
+     * No usa la base.
+     */
+    @Bean(name = "eventStreamExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor eventStreamExecutor(
+            @Value("${events.stream.sender-threads:2}") int senderThreads,
+            @Value("${events.stream.max-connections:200}") int maxConnections) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        executor.setQueueCapacity(maxConnections);
+        executor.setThreadNamePrefix("event-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Generación de PDFs de cumplimiento. Es sólo CPU (los datos se arman
+     * antes, en la request); si la cola se llena se responde 429.
+     */
+    @Bean(name = "compliancePdfExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor compliancePdfExecutor(
+            @Value("${compliance.pdf.pool-size:2}") int poolSize,
+            @Value("${compliance.pdf.queue-capacity:10}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("compliance-pdf-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Verificación de contraseñas (BCrypt) del login. Es sólo CPU y a
+     * propósito lenta: a la hora de entrada no debe ocupar los hilos de
+     * Tomcat. Si la cola se llena se responde 429.
+     */
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${auth.bcrypt.pool-size:4}") int poolSize,
+            @Value("${auth.bcrypt.queue-capacity:200}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,88 @@
+package llanogas.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Migración de IDENTITY a secuencias para reports, notifications, users y roles.
+ *
+ * Las tablas ya tienen filas con ids generados por IDENTITY y las secuencias
+ * nuevas (creadas por ddl-auto) arrancan en 1. Al iniciar, si una secuencia
+ * va por detrás del max(id) de su tabla, se reinicia por encima.
+ *
+ * Corre en @PostConstruct (después de que Hibernate actualiza el esquema y
+ * antes de que arranquen los @Scheduled) para que nadie inserte con un id
+ * repetido. Es idempotente: si la secuencia ya va adelante no toca nada.
+ */
+@Component
+public class IdSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceMigration.class);
+
+    // Debe coincidir con allocationSize de los @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    // tabla -> secuencia
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "reports", "reports_seq",
+            "notifications", "notifications_seq",
+            "users", "users_seq",
+            "roles", "roles_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceMigration(DataSource dataSource,
+                               TransactionTemplate transactionTemplate,
+                               EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.dialect = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        // Hikari corre con auto-commit=false: sin transacción el ALTER se pierde
+        SEQUENCES.forEach((table, sequence) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> alignSequence(table, sequence));
+            } catch (Exception e) {
+                log.warn("[SEQ] No se pudo alinear {} con {}: {}", sequence, table, e.getMessage());
+            }
+        });
+    }
+
+    private void alignSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "select coalesce(max(id), 0) from " + table, Long.class);
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+
+        if (maxId == null || next == null || maxId == 0) {
+            return; // tabla vacía: nada que proteger
+        }
+
+        // Con el optimizador "pooled" el bloque usado es (next - 49 .. next)
+        if (next - ALLOCATION_SIZE < maxId) {
+            long restartWith = maxId + ALLOCATION_SIZE;
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + restartWith);
+            log.info("[SEQ] {} reiniciada en {} (max id en {} = {})",
+                    sequence, restartWith, table, maxId);
+        }
+    }
+}
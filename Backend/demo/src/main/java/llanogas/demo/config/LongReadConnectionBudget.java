@@ -0,0 +1,51 @@
+package llanogas.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conexiones del pool que pueden quedar tomadas por lecturas largas: las
+ * que escriben al cliente mientras leen el cursor (listado por streaming,
+ * exportaciones). Un cliente lento retiene su conexión todo ese tiempo.
+ *
+ * Es un cupo compartido de maximum-pool-size menos las reservadas
+ * (reports.streaming.reserved-connections), así siempre quedan conexiones
+ * para el login, las escrituras y los jobs programados. Cada servicio
+ * tiene además su propio límite.
+ */
+@Component
+public class LongReadConnectionBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(LongReadConnectionBudget.class);
+
+    private final Semaphore permits;
+    private final int size;
+
+    public LongReadConnectionBudget(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                    @Value("${reports.streaming.reserved-connections:2}") int reserved) {
+        this.size = Math.max(1, poolSize - reserved);
+        this.permits = new Semaphore(size);
+        log.info("[POOL] Lecturas largas: hasta {} de {} conexiones", size, poolSize);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return permits.tryAcquire(timeout, unit);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int size() {
+        return size;
+    }
+}
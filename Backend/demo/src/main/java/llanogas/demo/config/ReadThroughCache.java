@@ -0,0 +1,129 @@
+package llanogas.demo.config;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria para lecturas (read-through), acotada por cantidad de
+ * entradas (se va la menos usada) y por tiempo de vida desde que se cargó.
+ *
+ * Si se invalida algo mientras se está cargando un valor, ese valor se
+ * devuelve pero no se guarda: pudo leerse antes del commit que invalidó.
+ * Lleva conteos de aciertos, fallos y desalojos para exponerlos.
+ *
+ * Vive en memoria de esta instancia; la coherencia entre instancias la
+ * resuelve quien la usa.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Sube con cada invalidación
+    private long generation = 0;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public ReadThroughCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = Math.max(1, ttlSeconds) * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ReadThroughCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Valor en caché o, si no está (o venció), el que devuelva loader.
+     * Las excepciones del loader salen tal cual y no se guarda nada.
+     */
+    public V get(K key, Supplier<V> loader) {
+        long loadedAt;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                    hits++;
+                    return entry.value();
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadedAt = generation;
+        }
+
+        V value = loader.get();
+
+        synchronized (this) {
+            if (value != null && generation == loadedAt) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(Collection<? extends K> keys) {
+        generation++;
+        for (K key : keys) {
+            if (entries.remove(key) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        generation++;
+        entries.entrySet().removeIf(e -> {
+            boolean remove = predicate.test(e.getKey(), e.getValue().value());
+            if (remove) {
+                invalidations++;
+            }
+            return remove;
+        });
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public synchronized Stats stats() {
+        long requests = hits + misses;
+        return new Stats(name, entries.size(), maxSize, ttlNanos / 1_000_000_000L,
+                hits, misses, requests == 0 ? 0 : (double) hits / requests,
+                evictions, expirations, invalidations);
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * Conteos acumulados desde el arranque.
+     */
+    public record Stats(String name, int size, int maxSize, long ttlSeconds,
+                        long hits, long misses, double hitRate,
+                        long evictions, long expirations, long invalidations) {
+    }
+}
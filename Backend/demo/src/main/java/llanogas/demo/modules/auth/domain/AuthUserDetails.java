@@ -2,31 +2,39 @@ package llanogas.demo.modules.auth.domain;
 
 import llanogas.demo.modules.users.domain.User;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 /**
  * Adaptador entre tu entidad User y Spring Security (UserDetails).
  * Sirve para que el SecurityContext sepa quién eres y qué rol tienes.
+ *
+ * Los permisos del rol vienen ya resueltos como máscara de bits
+ * (RolePermissions), así que can(...) es una operación de bits.
  */
 public class AuthUserDetails implements UserDetails {
 
     private final Long id;
     private final String email;
     private final String password;
+    private final String roleCode;
+    private final long permissions;
     private final Collection<? extends GrantedAuthority> authorities;
 
+    /**
+     * password puede ir en null: los que salen del JWT no la traen.
+     */
     public AuthUserDetails(Long id,
                            String email,
                            String password,
-                           Collection<? extends GrantedAuthority> authorities) {
+                           String roleCode) {
         this.id = id;
         this.email = email;
         this.password = password;
-        this.authorities = authorities;
+        this.roleCode = roleCode != null ? roleCode : RolePermissions.DEFAULT_ROLE;
+        this.permissions = RolePermissions.maskFor(this.roleCode);
+        this.authorities = RolePermissions.authoritiesFor(this.roleCode);
     }
 
     /**
@@ -34,17 +42,13 @@ public class AuthUserDetails implements UserDetails {
      */
     public static AuthUserDetails fromUser(User user) {
         // code del rol: "admin", "responsable_reportes", etc.
-        String roleCode = user.getRole() != null ? user.getRole().getCode() : "consulta_auditoria";
-
-        // Spring espera algo tipo "ROLE_ADMIN"
-        SimpleGrantedAuthority authority =
-                new SimpleGrantedAuthority("ROLE_" + roleCode.toUpperCase());
+        String roleCode = user.getRole() != null ? user.getRole().getCode() : null;
 
         return new AuthUserDetails(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                List.of(authority)
+                roleCode
         );
     }
 
@@ -56,6 +60,23 @@ public class AuthUserDetails implements UserDetails {
         return email;
     }
 
+    public String getRoleCode() {
+        return roleCode;
+    }
+
+    public long getPermissions() {
+        return permissions;
+    }
+
+    public boolean can(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    // Todos los permisos de la máscara
+    public boolean canAll(long required) {
+        return (permissions & required) == required;
+    }
+
     // ------------- Métodos de UserDetails -----------------
 
     @Override
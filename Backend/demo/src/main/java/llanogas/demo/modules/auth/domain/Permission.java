@@ -0,0 +1,46 @@
+package llanogas.demo.modules.auth.domain;
+
+/**
+ * Permisos de la aplicación. Son los mismos de permissions.js en el
+ * frontend; cada uno ocupa un bit de la máscara de AuthUserDetails.
+ *
+ * Para agregar uno: al final (el bit es la posición) y en RolePermissions.
+ * Caben 64.
+ */
+public enum Permission {
+
+    NAV_DASHBOARD("nav.dashboard"),
+    NAV_MY_TASKS("nav.myTasks"),
+    NAV_REPORTS("nav.reports"),
+    NAV_ENTITIES("nav.entities"),
+    NAV_CALENDAR("nav.calendar"),
+    NAV_COMPLIANCE("nav.compliance"),
+    NAV_LOCATIONS("nav.locations"),
+    NAV_USERS("nav.users"),
+    NAV_SETTINGS("nav.settings");
+
+    private final String code;
+    private final long bit;
+
+    Permission(String code) {
+        this.code = code;
+        this.bit = 1L << ordinal();
+    }
+
+    // Como lo nombra el frontend: "nav.reports"
+    public String getCode() {
+        return code;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,79 @@
+package llanogas.demo.modules.auth.domain;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static llanogas.demo.modules.auth.domain.Permission.*;
+
+/**
+ * Tabla rol -> permisos, la misma de permissions.js.
+ *
+ * Las máscaras y las listas de authorities se arman una sola vez al cargar
+ * la clase; resolver un rol es una búsqueda en un mapa, sin ir a la base.
+ * Un rol que no está en la tabla no tiene permisos.
+ */
+public final class RolePermissions {
+
+    // Rol de quien no tiene uno asignado
+    public static final String DEFAULT_ROLE = "consulta_auditoria";
+
+    private static final long READER = maskOf(
+            NAV_DASHBOARD, NAV_REPORTS, NAV_ENTITIES, NAV_COMPLIANCE, NAV_LOCATIONS);
+
+    private static final long OPERATOR = READER | maskOf(NAV_MY_TASKS, NAV_CALENDAR);
+
+    private static final Map<String, Resolved> BY_ROLE = new HashMap<>();
+
+    static {
+        register("admin", OPERATOR | maskOf(NAV_USERS, NAV_SETTINGS));
+        register("responsable_reportes", OPERATOR);
+        register("supervisor_cumplimiento", OPERATOR);
+        register("consulta_auditoria", READER);
+    }
+
+    private RolePermissions() {
+    }
+
+    public static long maskFor(String roleCode) {
+        return resolve(roleCode).mask();
+    }
+
+    /**
+     * ROLE_<CODIGO> más un authority por permiso ("nav.reports"), para que
+     * también sirvan hasRole / hasAuthority de Spring. Lista inmutable y
+     * compartida entre todos los usuarios del rol.
+     */
+    public static List<GrantedAuthority> authoritiesFor(String roleCode) {
+        return resolve(roleCode).authorities();
+    }
+
+    private static Resolved resolve(String roleCode) {
+        String code = roleCode != null ? roleCode : DEFAULT_ROLE;
+        Resolved resolved = BY_ROLE.get(code);
+        return resolved != null ? resolved : new Resolved(0, List.of(roleAuthority(code)));
+    }
+
+    private static void register(String roleCode, long mask) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(roleAuthority(roleCode));
+        for (Permission permission : Permission.values()) {
+            if ((mask & permission.bit()) != 0) {
+                authorities.add(new SimpleGrantedAuthority(permission.getCode()));
+            }
+        }
+        BY_ROLE.put(roleCode, new Resolved(mask, List.copyOf(authorities)));
+    }
+
+    // Spring espera algo tipo "ROLE_ADMIN"
+    private static GrantedAuthority roleAuthority(String roleCode) {
+        return new SimpleGrantedAuthority("ROLE_" + roleCode.toUpperCase());
+    }
+
+    private record Resolved(long mask, List<GrantedAuthority> authorities) {
+    }
+}
@@ -2,41 +2,109 @@ package llanogas.demo.modules.auth.service;
 
 import llanogas.demo.modules.auth.dto.LoginRequest;
 import llanogas.demo.modules.auth.dto.LoginResponse;
-import llanogas.demo.modules.users.domain.User;
-import llanogas.demo.modules.users.dto.UserDto;
 import llanogas.demo.modules.users.service.UserService;
 import llanogas.demo.security.JwtTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Login con email y contraseña.
+ *
+ * - El usuario sale de la caché de UserService (con el rol ya resuelto);
+ *   el hash se lee de la base en cada intento.
+ * - La búsqueda y BCrypt corren en passwordHashExecutor, no en el hilo de
+ *   la request; si hay demasiados logins en cola se responde 429.
+ * - Usuario o contraseña incorrectos: 401.
+ * - Si el hash guardado tiene otro costo que el configurado
+ *   (auth.bcrypt.strength), se rehashea con la contraseña que acaba de
+ *   verificarse.
+ */
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    // $2a$10$... -> 10
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+    private final int bcryptStrength;
 
     public AuthService(UserService userService,
                        PasswordEncoder passwordEncoder,
-                       JwtTokenProvider jwtTokenProvider) {
+                       JwtTokenProvider jwtTokenProvider,
+                       @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                       @Value("${auth.bcrypt.strength:10}") int bcryptStrength) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.bcryptStrength = bcryptStrength;
     }
 
-    public LoginResponse login(LoginRequest request) {
-        User user = userService.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Usuario o contraseña incorrectos"));
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verify(request), passwordHashExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    "Hay demasiados inicios de sesión en curso; intenta de nuevo en unos segundos",
+                    e
+            );
+        }
+    }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Usuario o contraseña incorrectos");
+    private LoginResponse verify(LoginRequest request) {
+        String rawPassword = request.getPassword();
+        UserService.Credentials user = userService.findCredentials(request.getEmail())
+                .orElseThrow(AuthService::badCredentials);
+        if (rawPassword == null || user.passwordHash() == null
+                || !passwordEncoder.matches(rawPassword, user.passwordHash())) {
+            throw badCredentials();
         }
 
-        // Genera el JWT solo con el email (subject)
-        String token = jwtTokenProvider.generateToken(user.getEmail());
+        if (needsRehash(user.passwordHash())) {
+            rehash(rawPassword, user);
+        }
 
-        UserDto dto = userService.toDto(user);
+        // Email (subject), id y rol: el filtro arma el principal con eso
+        String token = jwtTokenProvider.generateToken(user.id(), user.email(), user.user().getRoleId());
 
-        return new LoginResponse(token, dto);
+        return new LoginResponse(token, user.user());
+    }
+
+    private static ResponseStatusException badCredentials() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario o contraseña incorrectos");
+    }
+
+    private boolean needsRehash(String hash) {
+        Matcher matcher = BCRYPT_COST.matcher(hash);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+    }
+
+    // Si falla, el login sigue: se reintenta la próxima vez
+    private void rehash(String rawPassword, UserService.Credentials user) {
+        try {
+            if (userService.updatePasswordHash(user, passwordEncoder.encode(rawPassword))) {
+                log.info("[AUTH] Contraseña del usuario {} rehasheada con costo {}", user.id(), bcryptStrength);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[AUTH] No se pudo rehashear la contraseña del usuario {}: {}", user.id(), e.getMessage());
+        }
     }
 }
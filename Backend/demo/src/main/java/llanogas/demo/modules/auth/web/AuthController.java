@@ -6,6 +6,8 @@ import llanogas.demo.modules.auth.service.AuthService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*") // ajústalo luego si necesitas restringir
@@ -17,9 +19,9 @@ public class AuthController {
         this.authService = authService;
     }
 
+    // La verificación corre en otro pool: el hilo de Tomcat queda libre mientras tanto
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,17 +1,35 @@
 package llanogas.demo.modules.compliance.controller;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import llanogas.demo.modules.compliance.dto.ComplianceEntityDTO;
 import llanogas.demo.modules.compliance.dto.ComplianceHistoryDTO;
 import llanogas.demo.modules.compliance.dto.ResponsableMetricDTO;
 import llanogas.demo.modules.compliance.dto.RiskSummaryDTO;
+import llanogas.demo.modules.compliance.service.ComplianceExportService;
+import llanogas.demo.modules.compliance.service.CompliancePdfService;
 import llanogas.demo.modules.compliance.service.ComplianceService;
+import llanogas.demo.modules.reports.service.ReportExportService.ReportExport;
 
 @RestController
 @RequestMapping("/api/compliance")
@@ -19,10 +37,16 @@ import llanogas.demo.modules.compliance.service.ComplianceService;
 public class ComplianceController {
 
     private final ComplianceService service;
+    private final CompliancePdfService pdfService;
+    private final ComplianceExportService exportService;
 
     // Constructor explícito en vez de @RequiredArgsConstructor
-    public ComplianceController(ComplianceService service) {
+    public ComplianceController(ComplianceService service,
+                                CompliancePdfService pdfService,
+                                ComplianceExportService exportService) {
         this.service = service;
+        this.pdfService = pdfService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/entities")
@@ -49,4 +73,70 @@ public class ComplianceController {
     public List<ResponsableMetricDTO> getResponsables() {
         return service.getResponsables();
     }
+
+    // Métricas por entidad: GET /api/compliance/export?format=csv|xlsx
+    // Mismas columnas que /entities, escritas directo en la respuesta.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "format", defaultValue = "xlsx") String format) {
+
+        ReportExport export = exportService.export(format);
+        return ResponseEntity.ok()
+                .contentType(export.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.fileName())
+                        .build()
+                        .toString())
+                .cacheControl(CacheControl.noStore())
+                .body(export.body());
+    }
+
+    // PDF ejecutivo: GET /api/compliance/report.pdf[?from=2024-01&to=2024-03&entidad=SUI]
+    // Se genera en segundo plano (la request no ocupa un hilo mientras tanto)
+    // y queda en disco: si se vuelve a pedir con los mismos datos sale de ahí.
+    // El ETag es la llave del caché, así que el navegador puede revalidar con 304.
+    // El archivo llega abierto: si el cuerpo no se envía (304) se cierra aquí,
+    // si no lo cierra Spring al terminar de escribirlo.
+    @GetMapping("/report.pdf")
+    public CompletableFuture<ResponseEntity<Resource>> getReportPdf(
+            @RequestParam(value = "from", required = false) YearMonth from,
+            @RequestParam(value = "to", required = false) YearMonth to,
+            @RequestParam(value = "entidad", required = false) String entidad,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return pdfService.getPdf(from, to, entidad).thenApply(pdf -> {
+            String etag = "\"cpdf-" + pdf.key() + "\"";
+            if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+                closeQuietly(pdf.content());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .<Resource>build();
+            }
+            long size = pdf.content().size();
+            Resource body = new InputStreamResource(pdf.content().stream()) {
+                @Override
+                public long contentLength() {
+                    return size;
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                            .filename("informe-cumplimiento.pdf")
+                            .build()
+                            .toString())
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(body);
+        });
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nada que hacer: sólo se estaba soltando el archivo
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package llanogas.demo.modules.compliance.pdf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PDFs ya generados, en disco bajo {compliance.pdf.cache-dir}/{llave}.pdf.
+ *
+ * La llave sale de los datos y parámetros del informe, así que un archivo
+ * nunca queda desactualizado: si los datos cambian, la llave es otra.
+ * Sólo hace falta acotar cuántos se guardan (se borran los menos usados).
+ * Los archivos se entregan abiertos, así que borrar uno que alguien está
+ * descargando no corta esa descarga.
+ */
+@Component
+public class CompliancePdfCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CompliancePdfCache.class);
+
+    private final Path root;
+    private final int maxFiles;
+
+    public CompliancePdfCache(@Value("${compliance.pdf.cache-dir:./data/compliance-pdf}") String dir,
+                              @Value("${compliance.pdf.cache-max-files:50}") int maxFiles) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    /**
+     * Abre el PDF de esa llave si está en disco. Se entrega ya abierto para
+     * que la limpieza no lo pueda borrar entre encontrarlo y servirlo; una
+     * vez abierto, borrarlo sólo quita el nombre y la descarga termina bien.
+     * Quien lo recibe debe cerrarlo.
+     */
+    public synchronized Optional<CachedPdf> open(String key) throws IOException {
+        Path path = resolve(key);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        try {
+            // La fecha de modificación hace de "último uso" para la limpieza
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Se sirve igual; sólo puede salir antes de la limpieza
+        }
+        try {
+            return Optional.of(new CachedPdf(Channels.newInputStream(channel), channel.size()));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Escribe el PDF en un temporal del mismo directorio y lo mueve a su
+     * nombre final, así nadie lee un archivo a medio escribir.
+     */
+    public void store(String key, PdfContent content) throws IOException {
+        Files.createDirectories(root);
+        Path target = resolve(key);
+        Path tmp = Files.createTempFile(root, key, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                content.writeTo(out);
+            }
+            publish(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Mover y limpiar van bajo el mismo candado que open(): lo que se está
+    // abriendo no desaparece a medio camino
+    private synchronized void publish(Path tmp, Path target) throws IOException {
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        prune();
+    }
+
+    private void prune() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(root, "*.pdf")) {
+            dir.forEach(files::add);
+        } catch (IOException e) {
+            log.warn("[COMPLIANCE-PDF] No se pudo revisar el caché: {}", e.getMessage());
+            return;
+        }
+        if (files.size() <= maxFiles) {
+            return;
+        }
+        files.sort(Comparator.comparing(CompliancePdfCache::lastModified));
+        for (Path old : files.subList(0, files.size() - maxFiles)) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                log.warn("[COMPLIANCE-PDF] No se pudo borrar {}: {}", old, e.getMessage());
+            }
+        }
+    }
+
+    private Path resolve(String key) {
+        // La llave es un hash hexadecimal; no se acepta nada más
+        if (!key.matches("[0-9a-f]{16,64}")) {
+            throw new IllegalArgumentException("Llave de PDF inválida: " + key);
+        }
+        return root.resolve(key + ".pdf");
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Un PDF abierto listo para enviar, con su tamaño para el Content-Length.
+     */
+    public record CachedPdf(InputStream stream, long size) implements Closeable {
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface PdfContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
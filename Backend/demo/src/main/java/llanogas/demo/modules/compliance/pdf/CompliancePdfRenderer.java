@@ -0,0 +1,173 @@
+package llanogas.demo.modules.compliance.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import llanogas.demo.modules.compliance.dto.ComplianceEntityDTO;
+import llanogas.demo.modules.compliance.dto.ComplianceHistoryDTO;
+import llanogas.demo.modules.compliance.dto.ResponsableMetricDTO;
+import llanogas.demo.modules.compliance.dto.RiskSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Arma el PDF ejecutivo de cumplimiento con OpenPDF (tablas, sin imágenes):
+ * resumen de riesgo, entidades, histórico, responsables y notas.
+ *
+ * Reemplaza el html2canvas + jspdf del front: el PDF sale con texto real,
+ * pesa poco y no depende del equipo del usuario.
+ */
+@Component
+public class CompliancePdfRenderer {
+
+    private static final Color HEADER_BG = new Color(0x1F, 0x4E, 0x79);
+    private static final Color ZEBRA_BG = new Color(0xF2, 0xF5, 0xF9);
+
+    private static final Font TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font SUBTITLE = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.DARK_GRAY);
+    private static final Font SECTION = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+    private static final Font HEADER = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, Color.WHITE);
+    private static final Font CELL = FontFactory.getFont(FontFactory.HELVETICA, 9);
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    public void render(ComplianceReportData data, OutputStream out) throws IOException {
+        Document document = new Document(PageSize.A4, 36, 36, 40, 40);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.addTitle("Informe de cumplimiento");
+            document.open();
+
+            document.add(new Paragraph("Informe de cumplimiento", TITLE));
+            document.add(new Paragraph(scopeLine(data), SUBTITLE));
+
+            section(document, "Resumen de riesgo");
+            document.add(riskTable(data.riskSummary()));
+
+            section(document, "Entidades");
+            document.add(entitiesTable(data.entities()));
+
+            section(document, "Histórico de cumplimiento");
+            document.add(historyTable(data.history()));
+
+            section(document, "Responsables");
+            document.add(responsablesTable(data.responsables()));
+
+            section(document, "Notas ejecutivas");
+            if (data.executiveNotes().isEmpty()) {
+                document.add(new Paragraph("Sin notas para el período.", CELL));
+            }
+            for (String note : data.executiveNotes()) {
+                document.add(new Paragraph("- " + note, CELL));
+            }
+        } catch (DocumentException e) {
+            throw new IOException("No se pudo generar el PDF: " + e.getMessage(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    private static String scopeLine(ComplianceReportData data) {
+        String periodo;
+        if (data.from() == null && data.to() == null) {
+            periodo = "todos los períodos";
+        } else {
+            periodo = (data.from() != null ? data.from() : "inicio") + " a "
+                    + (data.to() != null ? data.to() : "hoy");
+        }
+        String entidad = data.entidad() != null ? data.entidad() : "todas las entidades";
+        return "Período: " + periodo + "  |  Entidad: " + entidad
+                + "  |  Generado el " + data.generatedOn().format(DATE);
+    }
+
+    private static void section(Document document, String title) throws DocumentException {
+        Paragraph paragraph = new Paragraph(title, SECTION);
+        paragraph.setSpacingBefore(14);
+        paragraph.setSpacingAfter(6);
+        document.add(paragraph);
+    }
+
+    private static PdfPTable riskTable(RiskSummaryDTO risk) {
+        PdfPTable table = table(new float[]{1, 1, 1, 1, 1},
+                "Crítico", "Alto", "Medio", "Bajo", "Total");
+        row(table, 0, risk.getCritico(), risk.getAlto(), risk.getMedio(), risk.getBajo(), risk.getTotal());
+        return table;
+    }
+
+    private static PdfPTable entitiesTable(List<ComplianceEntityDTO> entities) {
+        PdfPTable table = table(new float[]{2.4f, 1.2f, 1.5f, 1.3f, 1.5f, 1.1f, 1.8f, 1.8f},
+                "Entidad", "A tiempo", "Pendientes", "Vencidos", "Fuera de tiempo",
+                "Riesgo", "Cumplimiento", "Días retraso prom.");
+        for (int i = 0; i < entities.size(); i++) {
+            ComplianceEntityDTO e = entities.get(i);
+            row(table, i, e.getEntidad(), e.getTiempo(), e.getPendientes(), e.getVencidos(),
+                    e.getFueraDeTiempo(), e.getRiesgo(), percent(e.getCumplimiento()),
+                    e.getDiasRetrasoPromedio() != null ? String.format("%.1f", e.getDiasRetrasoPromedio()) : "");
+        }
+        return table;
+    }
+
+    private static PdfPTable historyTable(List<ComplianceHistoryDTO> history) {
+        PdfPTable table = table(new float[]{1, 1}, "Período", "Cumplimiento");
+        for (int i = 0; i < history.size(); i++) {
+            ComplianceHistoryDTO h = history.get(i);
+            row(table, i, h.getPeriodo(), percent(h.getCumplimiento()));
+        }
+        return table;
+    }
+
+    private static PdfPTable responsablesTable(List<ResponsableMetricDTO> responsables) {
+        PdfPTable table = table(new float[]{3, 1}, "Responsable", "Cumplimiento");
+        for (int i = 0; i < responsables.size(); i++) {
+            ResponsableMetricDTO r = responsables.get(i);
+            row(table, i, r.getNombre(), percent(r.getCumplimiento()));
+        }
+        return table;
+    }
+
+    private static PdfPTable table(float[] widths, String... headers) {
+        PdfPTable table = new PdfPTable(widths);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1); // se repite si la tabla pasa de página
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER));
+            cell.setBackgroundColor(HEADER_BG);
+            cell.setPadding(4);
+            table.addCell(cell);
+        }
+        return table;
+    }
+
+    private static void row(PdfPTable table, int index, Object... values) {
+        for (Object value : values) {
+            PdfPCell cell = new PdfPCell(new Phrase(value != null ? value.toString() : "", CELL));
+            cell.setPadding(4);
+            if (value instanceof Number) {
+                cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            }
+            if (index % 2 == 1) {
+                cell.setBackgroundColor(ZEBRA_BG);
+            }
+            table.addCell(cell);
+        }
+    }
+
+    private static String percent(Integer value) {
+        return value != null ? value + " %" : "";
+    }
+}
@@ -0,0 +1,31 @@
+package llanogas.demo.modules.compliance.pdf;
+
+import llanogas.demo.modules.compliance.dto.ComplianceEntityDTO;
+import llanogas.demo.modules.compliance.dto.ComplianceHistoryDTO;
+import llanogas.demo.modules.compliance.dto.ResponsableMetricDTO;
+import llanogas.demo.modules.compliance.dto.RiskSummaryDTO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Todo lo que va en el PDF de cumplimiento: los mismos datos de
+ * ComplianceController, ya filtrados por los parámetros del informe.
+ *
+ * Es también la entrada de la llave del caché: si algo de esto cambia,
+ * cambia el PDF. Por eso la fecha de generación que se imprime va aquí y
+ * no se toma al dibujar: el PDF de ayer no se sirve como el de hoy.
+ */
+public record ComplianceReportData(
+        YearMonth from,
+        YearMonth to,
+        String entidad,
+        List<ComplianceEntityDTO> entities,
+        RiskSummaryDTO riskSummary,
+        List<ComplianceHistoryDTO> history,
+        List<ResponsableMetricDTO> responsables,
+        List<String> executiveNotes,
+        LocalDate generatedOn
+) {
+}
@@ -0,0 +1,67 @@
+package llanogas.demo.modules.compliance.service;
+
+import llanogas.demo.modules.compliance.dto.ComplianceEntityDTO;
+import llanogas.demo.modules.reports.exporter.ExportFormat;
+import llanogas.demo.modules.reports.exporter.ReportRowWriter;
+import llanogas.demo.modules.reports.service.ReportExportService.ReportExport;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Exportación CSV / XLSX de las métricas de cumplimiento por entidad, con los
+ * mismos escritores de filas que la exportación de reportes.
+ */
+@Service
+public class ComplianceExportService {
+
+    static final List<String> HEADERS = List.of(
+            "entidad",
+            "a_tiempo",
+            "pendientes",
+            "vencidos",
+            "fuera_de_tiempo",
+            "riesgo",
+            "cumplimiento",
+            "dias_retraso_promedio"
+    );
+
+    private final ComplianceService complianceService;
+
+    public ComplianceExportService(ComplianceService complianceService) {
+        this.complianceService = complianceService;
+    }
+
+    // El formato se valida aquí (400); las filas se escriben en el cuerpo
+    public ReportExport export(String format) {
+        ExportFormat fmt = ExportFormat.parse(format);
+        String fileName = "cumplimiento-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + fmt.getExtension();
+        StreamingResponseBody body = out -> write(fmt, out);
+        return new ReportExport(fileName, fmt.getMediaType(), body);
+    }
+
+    private void write(ExportFormat fmt, OutputStream out) throws IOException {
+        try (ReportRowWriter writer = fmt.writerFor(out, "Cumplimiento")) {
+            writer.writeHeader(HEADERS);
+            for (ComplianceEntityDTO entity : complianceService.getEntities()) {
+                writer.writeRow(new Object[]{
+                        entity.getEntidad(),
+                        entity.getTiempo(),
+                        entity.getPendientes(),
+                        entity.getVencidos(),
+                        entity.getFueraDeTiempo(),
+                        entity.getRiesgo(),
+                        entity.getCumplimiento(),
+                        entity.getDiasRetrasoPromedio()
+                });
+            }
+            writer.finish();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package llanogas.demo.modules.compliance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import llanogas.demo.modules.compliance.dto.ComplianceEntityDTO;
+import llanogas.demo.modules.compliance.dto.ComplianceHistoryDTO;
+import llanogas.demo.modules.compliance.pdf.CompliancePdfCache;
+import llanogas.demo.modules.compliance.pdf.CompliancePdfCache.CachedPdf;
+import llanogas.demo.modules.compliance.pdf.CompliancePdfRenderer;
+import llanogas.demo.modules.compliance.pdf.ComplianceReportData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * PDF ejecutivo de cumplimiento generado en el backend.
+ *
+ * - Los datos se arman en el hilo de la request (son los de ComplianceService)
+ *   y de ellos más los parámetros sale la llave del caché.
+ * - Si ese PDF ya está en disco se devuelve de una vez, ya abierto.
+ * - Si no, se genera en el pool acotado compliancePdfExecutor. Pedidos
+ *   iguales mientras se genera esperan el mismo resultado en vez de
+ *   generarlo otra vez.
+ */
+@Service
+public class CompliancePdfService {
+
+    private static final Logger log = LoggerFactory.getLogger(CompliancePdfService.class);
+
+    // Subir si cambia el diseño del PDF: invalida lo que haya en caché
+    private static final int LAYOUT_VERSION = 1;
+
+    private final ComplianceService complianceService;
+    private final CompliancePdfRenderer renderer;
+    private final CompliancePdfCache cache;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public CompliancePdfService(ComplianceService complianceService,
+                                CompliancePdfRenderer renderer,
+                                CompliancePdfCache cache,
+                                ObjectMapper objectMapper,
+                                @Qualifier("compliancePdfExecutor") ThreadPoolTaskExecutor executor) {
+        this.complianceService = complianceService;
+        this.renderer = renderer;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    /**
+     * @param from    primer mes del histórico (null = desde el inicio)
+     * @param to      último mes del histórico (null = hasta hoy)
+     * @param entidad sólo esa entidad (null = todas)
+     */
+    public CompletableFuture<CompliancePdf> getPdf(YearMonth from, YearMonth to, String entidad) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El período 'from' es posterior a 'to'");
+        }
+        ComplianceReportData data = collect(from, to, entidad);
+        return load(cacheKey(data), data);
+    }
+
+    // Cada pedido abre su propia copia del archivo; la generación sí se comparte
+    private CompletableFuture<CompliancePdf> load(String key, ComplianceReportData data) {
+        Optional<CachedPdf> cached = open(key);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(new CompliancePdf(key, cached.get()));
+        }
+
+        CompletableFuture<Void> created = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(key, created);
+        if (running == null) {
+            try {
+                executor.execute(() -> render(key, data, created));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(key, created);
+                throw new ResponseStatusException(
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        "Se están generando demasiados informes; intenta de nuevo en unos momentos"
+                );
+            }
+            running = created;
+        }
+        // Si la limpieza alcanzó a sacarlo antes de abrirlo, se genera otra vez
+        return running.thenCompose(done -> load(key, data));
+    }
+
+    private Optional<CachedPdf> open(String key) {
+        try {
+            return cache.open(key);
+        } catch (IOException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "No se pudo leer el informe: " + e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    private void render(String key, ComplianceReportData data, CompletableFuture<Void> result) {
+        long start = System.currentTimeMillis();
+        try {
+            cache.store(key, out -> renderer.render(data, out));
+            log.info("[COMPLIANCE-PDF] {} generado en {} ms", key, System.currentTimeMillis() - start);
+            result.complete(null);
+        } catch (IOException | RuntimeException e) {
+            log.error("[COMPLIANCE-PDF] Falló la generación de {}", key, e);
+            result.completeExceptionally(new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "No se pudo generar el informe: " + e.getMessage(),
+                    e
+            ));
+        } finally {
+            inFlight.remove(key, result);
+        }
+    }
+
+    private ComplianceReportData collect(YearMonth from, YearMonth to, String entidad) {
+        String entidadFilter = entidad == null || entidad.isBlank() ? null : entidad.trim();
+
+        List<ComplianceEntityDTO> entities = complianceService.getEntities().stream()
+                .filter(e -> entidadFilter == null || entidadFilter.equalsIgnoreCase(e.getEntidad()))
+                .toList();
+        // periodo viene como yyyy-MM
+        List<ComplianceHistoryDTO> history = complianceService.getHistory().stream()
+                .filter(h -> from == null || h.getPeriodo().compareTo(from.toString()) >= 0)
+                .filter(h -> to == null || h.getPeriodo().compareTo(to.toString()) <= 0)
+                .toList();
+
+        return new ComplianceReportData(
+                from, to, entidadFilter,
+                entities,
+                complianceService.getRiskSummary(),
+                history,
+                complianceService.getResponsables(),
+                complianceService.getExecutiveNotes(),
+                LocalDate.now()
+        );
+    }
+
+    // Versión de los datos: hash del contenido del informe y sus parámetros
+    private String cacheKey(ComplianceReportData data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((byte) LAYOUT_VERSION);
+            digest.update(objectMapper.writeValueAsBytes(data));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo calcular la llave del informe", e);
+        }
+    }
+
+    /**
+     * Un PDF listo y ya abierto; quien lo recibe debe cerrar content.
+     * La llave sirve también como ETag.
+     */
+    public record CompliancePdf(String key, CachedPdf content) {
+    }
+}
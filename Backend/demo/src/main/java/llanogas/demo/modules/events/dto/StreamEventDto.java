@@ -0,0 +1,49 @@
+package llanogas.demo.modules.events.dto;
+
+import llanogas.demo.modules.notifications.domain.Notification;
+
+import java.util.List;
+
+/**
+ * Datos (campo data, en JSON) de un evento del canal SSE.
+ *
+ * - topic "reports": type SAVED / DELETED / STATUS_REFRESHED; ids = reportes.
+ *   Si truncated es true el cambio fue masivo y no trae ids: conviene
+ *   pedir /api/reports/changes.
+ * - topic "notifications": type CREATED (con la notificación) o READ; ids =
+ *   notificaciones.
+ * - topic "stream": type RESYNC cuando se perdieron eventos porque el
+ *   cliente no alcanzaba a leerlos; hay que recargar.
+ */
+public class StreamEventDto {
+
+    private String topic;
+    private String type;
+    private List<Long> ids;
+    private boolean truncated;
+    private Notification notification;
+
+    public StreamEventDto() {
+    }
+
+    public StreamEventDto(String topic, String type, List<Long> ids) {
+        this.topic = topic;
+        this.type = type;
+        this.ids = ids;
+    }
+
+    public String getTopic() { return topic; }
+    public void setTopic(String topic) { this.topic = topic; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    public Notification getNotification() { return notification; }
+    public void setNotification(Notification notification) { this.notification = notification; }
+}
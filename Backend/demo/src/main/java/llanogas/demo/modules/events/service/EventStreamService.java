@@ -0,0 +1,228 @@
+package llanogas.demo.modules.events.service;
+
+import llanogas.demo.modules.events.dto.StreamEventDto;
+import llanogas.demo.modules.notifications.domain.NotificationChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Canal de eventos SSE (/api/events/stream) alimentado por los eventos de
+ * aplicación: ReportChangedEvent y NotificationChangedEvent. Sólo se
+ * reenvían después del commit, así que el cliente nunca ve un cambio
+ * que luego se deshace.
+ *
+ * Quien publica sólo deja el evento en la cola de cada conexión; el envío
+ * lo hace "eventStreamExecutor". Cada cola es acotada: si un cliente no
+ * alcanza a leer, se descarta lo pendiente y se le manda un RESYNC para
+ * que recargue, en vez de acumular memoria o frenar a quien escribe.
+ *
+ * Filtro por usuario (?userId=): los cambios de reportes sólo llegan si el
+ * usuario es o era responsable o supervisor del reporte, según los
+ * asignados que trae el evento (así también se entera a quien se le quitó).
+ * Los borrados, los cambios masivos y los eventos sin asignados llegan a
+ * todos. No se consulta la base. Las notificaciones llegan a todos,
+ * igual que GET /api/notifications.
+ */
+@Service
+public class EventStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventStreamService.class);
+
+    static final String TOPIC_REPORTS = "reports";
+    static final String TOPIC_NOTIFICATIONS = "notifications";
+    static final String TOPIC_STREAM = "stream";
+
+    // Más ids que esto (importaciones) se avisa sin ids y sin filtrar por usuario
+    private static final int MAX_IDS_PER_EVENT = 200;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${events.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${events.stream.buffer-size:100}")
+    private int bufferSize;
+
+    @Value("${events.stream.max-connections:200}")
+    private int maxConnections;
+
+    public EventStreamService(@Qualifier("eventStreamExecutor") ThreadPoolTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Abre una conexión. No toca la base: la request queda abierta mucho
+     * tiempo y no debe retener una conexión del pool.
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (subscribers.size() >= maxConnections) {
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiadas conexiones de eventos abiertas; intenta de nuevo más tarde"
+            );
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, userId, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // Primer envío: manda los headers y le dice al navegador cada cuánto reconectar
+        subscriber.offer(SseEmitter.event().reconnectTime(5000).comment("conectado").build());
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return subscribers.size();
+    }
+
+    // ================== ENTRADA: EVENTOS DE APLICACIÓN ==================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String type = event.getType().name();
+        List<Long> ids = event.getReportIds();
+
+        if (event.getType() != ReportChangedEvent.Type.SAVED || ids.size() > MAX_IDS_PER_EVENT) {
+            boolean truncated = ids.size() > MAX_IDS_PER_EVENT;
+            StreamEventDto data = new StreamEventDto(TOPIC_REPORTS, type, truncated ? List.of() : ids);
+            data.setTruncated(truncated || event.getType() == ReportChangedEvent.Type.STATUS_REFRESHED);
+            broadcast(data);
+            return;
+        }
+
+        // Quien publicó no dijo a quién le toca: llega a todos
+        Set<Long> assignees = event.getAssigneeUserIds();
+        if (assignees == null) {
+            broadcast(new StreamEventDto(TOPIC_REPORTS, type, ids));
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> sse = toSse(new StreamEventDto(TOPIC_REPORTS, type, ids));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.userId == null || assignees.contains(subscriber.userId)) {
+                subscriber.offer(sse);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        StreamEventDto data = new StreamEventDto(
+                TOPIC_NOTIFICATIONS, event.getType().name(), event.getNotificationIds());
+        data.setNotification(event.getNotification());
+        broadcast(data);
+    }
+
+    // Comentario periódico: mantiene viva la conexión en proxies y detecta clientes caídos
+    @Scheduled(fixedRateString = "${events.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(ping);
+        }
+    }
+
+    // ================== SALIDA ==================
+
+    private void broadcast(StreamEventDto data) {
+        Set<ResponseBodyEmitter.DataWithMediaType> event = toSse(data);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // Se arma una sola vez y se comparte entre conexiones (build() no es repetible)
+    private static Set<ResponseBodyEmitter.DataWithMediaType> toSse(StreamEventDto data) {
+        return SseEmitter.event().name(data.getTopic()).data(data, MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Una conexión abierta con su cola de envíos pendientes.
+     */
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        // true mientras hay una tarea de envío en el executor para esta conexión
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        Subscriber(SseEmitter emitter, Long userId, int capacity) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!queue.offer(event)) {
+                // Cliente lento: se descarta lo pendiente y se le pide recargar
+                queue.clear();
+                queue.offer(toSse(new StreamEventDto(TOPIC_STREAM, "RESYNC", List.of())));
+                log.warn("[SSE] Cola llena para userId={}; se envía RESYNC", userId);
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se fue (o la conexión ya terminó)
+                subscribers.remove(this);
+                queue.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // Lo que llegó entre el último poll y soltar la marca
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
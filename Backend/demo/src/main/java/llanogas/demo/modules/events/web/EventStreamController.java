@@ -0,0 +1,34 @@
+package llanogas.demo.modules.events.web;
+
+import llanogas.demo.modules.events.service.EventStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Canal de eventos en vivo (Server-Sent Events).
+ *
+ * Desde el front: new EventSource("/api/events/stream?userId=5") y
+ * escuchar los eventos "reports" y "notifications".
+ */
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventStreamController {
+
+    private final EventStreamService eventStreamService;
+
+    public EventStreamController(EventStreamService eventStreamService) {
+        this.eventStreamService = eventStreamService;
+    }
+
+    // GET /api/events/stream[?userId=5] (sin userId llegan todos los cambios)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(value = "userId", required = false) Long userId) {
+        return eventStreamService.subscribe(userId);
+    }
+}
@@ -6,11 +6,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+// La huella del ETag y el listado de la campanita filtran por no leídas
+@Table(name = "notifications",
+        indexes = @Index(name = "idx_notifications_read_id", columnList = "is_read, id"))
 public class Notification {
 
+    // El scheduler puede crear muchas a la vez: secuencia para poder hacer batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "code", nullable = false, length = 100)
@@ -0,0 +1,41 @@
+package llanogas.demo.modules.notifications.domain;
+
+import java.util.List;
+
+/**
+ * Evento de aplicación al crear notificaciones o marcarlas como leídas.
+ * Lo consume el canal SSE (/api/events/stream) para avisar a la campanita
+ * sin que el front tenga que consultar.
+ */
+public class NotificationChangedEvent {
+
+    public enum Type {
+        CREATED,
+        READ
+    }
+
+    private final Type type;
+    private final List<Long> notificationIds;
+    // Sólo en CREATED: la notificación nueva, para mostrarla sin otra consulta
+    private final Notification notification;
+
+    private NotificationChangedEvent(Type type, List<Long> notificationIds, Notification notification) {
+        this.type = type;
+        this.notificationIds = List.copyOf(notificationIds);
+        this.notification = notification;
+    }
+
+    public static NotificationChangedEvent created(Notification notification) {
+        return new NotificationChangedEvent(Type.CREATED, List.of(notification.getId()), notification);
+    }
+
+    public static NotificationChangedEvent read(List<Long> notificationIds) {
+        return new NotificationChangedEvent(Type.READ, notificationIds, null);
+    }
+
+    public Type getType() { return type; }
+
+    public List<Long> getNotificationIds() { return notificationIds; }
+
+    public Notification getNotification() { return notification; }
+}
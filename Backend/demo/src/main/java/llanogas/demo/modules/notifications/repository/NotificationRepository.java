@@ -2,6 +2,7 @@ package llanogas.demo.modules.notifications.repository;
 
 import llanogas.demo.modules.notifications.domain.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,6 +15,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Solo no leídas (para el badge de la campanita)
     List<Notification> findByReadFalseOrderByCreatedAtDesc();
 
+    // Huella de las no leídas para el ETag: una sola fila (cantidad, max id, suma de ids)
+    @Query("select count(n), coalesce(max(n.id), 0), coalesce(sum(n.id), 0) from Notification n where n.read = false")
+    List<Object[]> unreadFingerprint();
+
     // Para que el scheduler no duplique notificaciones en el mismo día
     boolean existsByReportIdAndTypeAndCreatedAtBetween(
             Long reportId,
@@ -1,9 +1,11 @@
 package llanogas.demo.modules.notifications.service;
 
 import llanogas.demo.modules.notifications.domain.Notification;
+import llanogas.demo.modules.notifications.domain.NotificationChangedEvent;
 import llanogas.demo.modules.notifications.repository.NotificationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -20,29 +22,49 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final NotificationEmailSender emailSender; // 👈 inyectamos el sender
+    private final ApplicationEventPublisher eventPublisher;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               NotificationEmailSender emailSender) {
+                               NotificationEmailSender emailSender,
+                               ApplicationEventPublisher eventPublisher) {
         this.notificationRepository = notificationRepository;
         this.emailSender = emailSender;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Notification> getUnread() {
         return notificationRepository.findByReadFalseOrderByCreatedAtDesc();
     }
 
+    /**
+     * ETag de las no leídas, para el GET condicional de la campanita. Sale de
+     * la base (cantidad, mayor id y suma de ids de las no leídas), así que
+     * cambia igual si la notificación la creó el scheduler u otra instancia.
+     * La suma cubre el caso de leer una y crear otra con un id menor (los ids
+     * vienen en bloques de la secuencia por instancia).
+     */
+    public String unreadETag() {
+        Object[] row = notificationRepository.unreadFingerprint().get(0);
+        return "\"notifications-" + row[0] + "-" + row[1] + "-" + row[2] + "\"";
+    }
+
     public void markAllAsRead() {
         List<Notification> unread = notificationRepository.findByReadFalseOrderByCreatedAtDesc();
         for (Notification n : unread) {
             n.setRead(true);
         }
         notificationRepository.saveAll(unread);
+        if (!unread.isEmpty()) {
+            eventPublisher.publishEvent(NotificationChangedEvent.read(
+                    unread.stream().map(Notification::getId).toList()));
+        }
     }
 
     public void markAsRead(Long id) {
         notificationRepository.findById(id).ifPresent(n -> {
             n.setRead(true);
             notificationRepository.save(n);
+                eventPublisher.publishEvent(NotificationChangedEvent.read(List.of(id)));
         });
     }
 
@@ -75,6 +97,7 @@ public class NotificationService {
         n.setCycleKey(cycleKey);
 
         Notification saved = notificationRepository.save(n);
+        eventPublisher.publishEvent(NotificationChangedEvent.created(saved));
 
         // 👇 Disparar correo (sin tumbar el scheduler si falla)
         try {
@@ -55,6 +55,11 @@ public class ReportNotificationScheduler {
             if (due == null) {
                 continue;
             }
+            // Con acuse cargado en el período vigente la tarea ya se considera cumplida
+            // (igual que MyTasks); el acuse de un período anterior no cuenta
+            if (report.getCurrentAcuseDate() != null) {
+                continue;
+            }
 
             ReportStatus status = reportStatusService.calculateStatus(report, today);
             Long daysUntilDue = reportStatusService.daysUntilDue(report, today);
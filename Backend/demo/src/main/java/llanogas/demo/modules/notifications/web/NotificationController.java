@@ -2,8 +2,10 @@ package llanogas.demo.modules.notifications.web;
 
 import llanogas.demo.modules.notifications.domain.Notification;
 import llanogas.demo.modules.notifications.service.NotificationService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +20,15 @@ public class NotificationController {
     }
 
     // GET /api/notifications -> notificaciones no leídas
+    // Con If-None-Match igual al ETag actual responde 304 con sólo la consulta de la huella
     @GetMapping
-    public List<Notification> getUnread() {
-        return notificationService.getUnread();
+    public ResponseEntity<List<Notification>> getUnread(WebRequest request) {
+        if (request.checkNotModified(notificationService.unreadETag())) {
+            return null; // 304
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(notificationService.getUnread());
     }
 
     // PATCH /api/notifications/read-all -> marcar TODAS como leídas
@@ -0,0 +1,255 @@
+package llanogas.demo.modules.reports.cache;
+
+import llanogas.demo.config.CollectionVersion;
+import llanogas.demo.config.ReadThroughCache;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
+import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
+import llanogas.demo.modules.reports.dto.ReportMyTasksDto;
+import llanogas.demo.modules.reports.repository.ReportAssigneeView;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.search.ReportSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Caché de lecturas de reportes, delante de ReportService:
+ *
+ * - reportes por id (ReportDto),
+ * - páginas del listado por cursor (filtro + cursor + límite + orden),
+ * - "mis tareas" por usuario.
+ *
+ * Cada una acotada por cantidad y por TTL (ver ReadThroughCache). También
+ * lleva la versión de los listados que usan los GET condicionales (ETag).
+ *
+ * Invalidación:
+ * - Escrituras de esta instancia: con ReportChangedEvent, ya confirmado el
+ *   commit. Se van los reportes tocados, todas las páginas (un alta puede
+ *   caer en cualquiera) y las tareas de los usuarios afectados: los que
+ *   tenían esos reportes y los que hoy los tienen asignados.
+ * - Escrituras de otras instancias: cada pocos segundos se mira
+ *   report_change_counter (lo sube ReportChangeTracker en cada escritura);
+ *   si avanzó, los ids que cambiaron salen de row_version y de
+ *   report_tombstones y se invalidan igual que los locales. Los mismos ids
+ *   van al índice de búsqueda (ReportSearchIndex).
+ */
+@Component
+public class ReportReadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportReadCache.class);
+
+    private static final int ASSIGNEE_BLOCK_SIZE = 500;
+
+    // Si en una pasada cambiaron más reportes que esto, se vacía todo
+    private static final int MAX_POLLED_IDS = 5_000;
+
+    private final ReportRepository reportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportSearchIndex searchIndex;
+
+    // Versión de la tabla reports para los GET condicionales de los listados
+    private final CollectionVersion listVersion = new CollectionVersion("reports");
+
+    private final ReadThroughCache<Long, ReportDto> reports;
+    private final ReadThroughCache<PageKey, CursorPageDto<ReportDto>> pages;
+    private final ReadThroughCache<Long, CachedTasks> tasks;
+
+    // Última versión de report_change_counter ya aplicada (-1 = todavía no se leyó)
+    private long seenVersion = -1;
+
+    public ReportReadCache(ReportRepository reportRepository,
+                           JdbcTemplate jdbcTemplate,
+                           ReportSearchIndex searchIndex,
+                           @Value("${reports.cache.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${reports.cache.max-reports:2000}") int maxReports,
+                           @Value("${reports.cache.max-pages:200}") int maxPages,
+                           @Value("${reports.my-tasks.cache-max-users:500}") int maxUsers) {
+        this.reportRepository = reportRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchIndex = searchIndex;
+        this.reports = new ReadThroughCache<>("reports", maxReports, ttlSeconds);
+        this.pages = new ReadThroughCache<>("report-pages", maxPages, ttlSeconds);
+        this.tasks = new ReadThroughCache<>("my-tasks", maxUsers, ttlSeconds);
+    }
+
+    // ================== LECTURAS ==================
+
+    public ReportDto report(Long id, Supplier<ReportDto> loader) {
+        return reports.get(id, loader);
+    }
+
+    public CursorPageDto<ReportDto> page(ReportFilter filter, Long cursor, int limit, Sort.Direction direction,
+                                         Supplier<CursorPageDto<ReportDto>> loader) {
+        return pages.get(PageKey.of(filter, cursor, limit, direction), loader);
+    }
+
+    public ReportMyTasksDto tasks(Long userId, Supplier<ReportMyTasksDto> loader) {
+        return tasks.get(userId, () -> new CachedTasks(loader.get())).tasks();
+    }
+
+    public String listETag() {
+        return listVersion.etag();
+    }
+
+    public List<ReadThroughCache.Stats> stats() {
+        return List.of(reports.stats(), pages.stats(), tasks.stats());
+    }
+
+    // ================== INVALIDACIÓN LOCAL ==================
+
+    // Dentro de la transacción: CollectionVersion sube el ETag después del commit
+    @EventListener
+    public void markListChanged(ReportChangedEvent event) {
+        listVersion.markChanged();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> invalidate(event.getReportIds(), List.of(), event.getAssigneeUserIds());
+            case DELETED -> invalidate(List.of(), event.getReportIds(), Set.of());
+            // El barrido no dice qué ids cambió
+            case STATUS_REFRESHED -> invalidateAll();
+        }
+    }
+
+    // knownAssignees: los que trae el evento; null = hay que consultarlos
+    private void invalidate(List<Long> saved, List<Long> deleted, Set<Long> knownAssignees) {
+        Set<Long> changed = new HashSet<>(saved);
+        changed.addAll(deleted);
+        reports.invalidate(changed);
+        pages.invalidateAll();
+
+        // Sólo se consulta a quién quedaron asignados si hay tareas en caché
+        Set<Long> assignees = tasks.isEmpty() ? Set.of()
+                : knownAssignees != null ? knownAssignees
+                : currentAssignees(saved);
+        tasks.invalidateIf((userId, cached) ->
+                assignees.contains(userId) || cached.containsAny(changed));
+    }
+
+    private void invalidateAll() {
+        reports.invalidateAll();
+        pages.invalidateAll();
+        tasks.invalidateAll();
+    }
+
+    private Set<Long> currentAssignees(List<Long> ids) {
+        Set<Long> users = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += ASSIGNEE_BLOCK_SIZE) {
+            List<Long> block = ids.subList(from, Math.min(from + ASSIGNEE_BLOCK_SIZE, ids.size()));
+            for (ReportAssigneeView assignee : reportRepository.findAssigneesByIdIn(block)) {
+                if (assignee.getResponsableElaboracionUserId() != null) {
+                    users.add(assignee.getResponsableElaboracionUserId());
+                }
+                if (assignee.getSupervisorCumplimientoUserId() != null) {
+                    users.add(assignee.getSupervisorCumplimientoUserId());
+                }
+            }
+        }
+        return users;
+    }
+
+    // ================== INVALIDACIÓN ENTRE INSTANCIAS ==================
+
+    /**
+     * Mira si otra instancia (o esta) confirmó cambios desde la última pasada.
+     * La versión del contador sólo se ve confirmada junto con sus filas, así
+     * que lo que se lee hasta esa versión está completo. Los cambios propios
+     * se vuelven a invalidar acá; no pasa nada.
+     */
+    @Scheduled(fixedDelayString = "${reports.cache.poll-ms:2000}",
+            initialDelayString = "${reports.cache.poll-ms:2000}")
+    public void pollRemoteChanges() {
+        try {
+            Long current = jdbcTemplate.queryForObject(
+                    "select version from report_change_counter where id = 1", Long.class);
+            if (current == null || current <= seenVersion) {
+                return;
+            }
+            if (seenVersion < 0) {
+                // Primera pasada: lo anterior ya está en la base y no hay nada en caché que lo contradiga
+                seenVersion = current;
+                return;
+            }
+
+            List<Long> saved = jdbcTemplate.queryForList(
+                    "select id from reports where row_version > ? and row_version <= ?",
+                    Long.class, seenVersion, current);
+            List<Long> deleted = jdbcTemplate.queryForList(
+                    "select report_id from report_tombstones where row_version > ? and row_version <= ?",
+                    Long.class, seenVersion, current);
+
+            if (saved.size() + deleted.size() > MAX_POLLED_IDS) {
+                invalidateAll();
+            } else {
+                invalidate(saved, deleted, null);
+            }
+            listVersion.markChanged();
+            // El índice no tiene tope: se releen por bloques y sólo el texto
+            searchIndex.applyRemoteChanges(saved, deleted);
+            log.debug("[CACHE] Versión {} -> {}: {} reportes cambiados, {} borrados",
+                    seenVersion, current, saved.size(), deleted.size());
+            seenVersion = current;
+        } catch (DataAccessException e) {
+            // Se reintenta en la próxima pasada; mientras tanto vence el TTL
+            log.warn("[CACHE] No se pudo revisar report_change_counter: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Llave de una página: el filtro completo más la posición.
+     */
+    private record PageKey(String entidadControl, String gerenciaResponsable, String frecuencia,
+                           LocalDate dueFrom, LocalDate dueTo, Long userId, ReportStatus status,
+                           Long cursor, int limit, Sort.Direction direction) {
+
+        static PageKey of(ReportFilter filter, Long cursor, int limit, Sort.Direction direction) {
+            return new PageKey(filter.getEntidadControl(), filter.getGerenciaResponsable(),
+                    filter.getFrecuencia(), filter.getDueFrom(), filter.getDueTo(),
+                    filter.getUserId(), filter.getStatus(), cursor, limit, direction);
+        }
+    }
+
+    /**
+     * Tareas de un usuario con los ids que incluye, para saber si un cambio lo afecta.
+     */
+    private record CachedTasks(ReportMyTasksDto tasks, Set<Long> reportIds) {
+
+        CachedTasks(ReportMyTasksDto tasks) {
+            this(tasks, idsOf(tasks));
+        }
+
+        boolean containsAny(Collection<Long> ids) {
+            for (Long id : ids) {
+                if (reportIds.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Set<Long> idsOf(ReportMyTasksDto tasks) {
+            Set<Long> ids = new HashSet<>();
+            tasks.getGroups().values().forEach(group -> group.forEach(r -> ids.add(r.getId())));
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package llanogas.demo.modules.reports.domain;
+
+public enum ImportJobStatus {
+    EN_COLA,
+    EN_PROCESO,
+    COMPLETADO,
+    CANCELADO,
+    FALLIDO;
+
+    public boolean isFinished() {
+        return this == COMPLETADO || this == CANCELADO || this == FALLIDO;
+    }
+}
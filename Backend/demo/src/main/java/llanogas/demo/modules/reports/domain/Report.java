@@ -1,14 +1,38 @@
 package llanogas.demo.modules.reports.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reports")
+@Table(
+        name = "reports",
+        indexes = {
+                @Index(name = "idx_reports_entidad_control", columnList = "entidad_control, id"),
+                @Index(name = "idx_reports_gerencia_responsable", columnList = "gerencia_responsable, id"),
+                @Index(name = "idx_reports_id_reporte", columnList = "id_reporte"),
+                @Index(name = "idx_reports_nombre_reporte", columnList = "nombre_reporte"),
+                @Index(name = "idx_reports_status_entidad", columnList = "status, entidad_control, id"),
+                @Index(name = "idx_reports_row_version", columnList = "row_version, id"),
+                // Barrido diario de estado: rangos sobre el vencimiento del período vigente
+                @Index(name = "idx_reports_current_due", columnList = "current_due_date, id"),
+                // "Mis tareas": una rama del UNION ALL por cada columna de asignación
+                @Index(name = "idx_reports_responsable_user", columnList = "responsable_elaboracion_user_id, id"),
+                @Index(name = "idx_reports_supervisor_user", columnList = "supervisor_cumplimiento_user_id, id")
+        }
+)
+// El UPDATE lleva sólo las columnas que cambiaron: los campos TEXT no se reescriben en cada edición
+@DynamicUpdate
 public class Report {
 
+    // Secuencia con pool de 50 (= hibernate.jdbc.batch_size): con IDENTITY
+    // Hibernate no puede agrupar los INSERT en batch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reports_seq")
+    @SequenceGenerator(name = "reports_seq", sequenceName = "reports_seq", allocationSize = 50)
     private Long id;
 
     // ID funcional que digita el usuario (REP001, etc.)
@@ -82,6 +106,66 @@ public class Report {
     @Column(name = "supervisor_cumplimiento_user_id")
     private Long supervisorCumplimientoUserId;
 
+    /**
+     * SHA-256 de los campos importados en la última importación (ver ReportContentHash).
+     * Permite saltar en el upsert las filas que no cambiaron.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Estado del período vigente, calculado por ReportStatusService y guardado
+     * para poder filtrar por estado en SQL. Se recalcula al crear/editar, al
+     * cargar o borrar un acuse y en el barrido diario (ReportStatusSweeper),
+     * que es cuando cambia solo por el paso del tiempo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private ReportStatus status;
+
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    // Fecha del primer acuse cargado (ReportAttachment kind=acuse); null = sin acuse.
+    // Es informativa (columna del Excel): el estado usa el acuse del período vigente
+    @Column(name = "first_acuse_date")
+    private LocalDate firstAcuseDate;
+
+    // Período vigente según ReportStatusService: su vencimiento y su acuse (null = sin acuse)
+    @Column(name = "current_due_date")
+    private LocalDate currentDueDate;
+
+    @Column(name = "current_acuse_date")
+    private LocalDate currentAcuseDate;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Versión del último cambio (report_change_counter). La asigna
+     * ReportChangeTracker al confirmar la transacción, por SQL, así que
+     * Hibernate no la escribe nunca. Es lo que usa /api/reports/changes.
+     */
+    @Column(name = "row_version", insertable = false, updatable = false)
+    private Long rowVersion;
+
+    /**
+     * Bloqueo optimista: Hibernate la sube en cada UPDATE de la entidad y las
+     * escrituras por SQL (barrido de estados, upsert, operaciones masivas) la
+     * suben a mano. Es el ETag de GET/PATCH /api/reports/{id}.
+     * El default llena las filas que ya existían al agregar la columna.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     // ===== Getters / setters =====
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -149,4 +233,30 @@ public class Report {
     public void setSupervisorCumplimientoUserId(Long supervisorCumplimientoUserId) {
         this.supervisorCumplimientoUserId = supervisorCumplimientoUserId;
     }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) { this.statusChangedAt = statusChangedAt; }
+
+    public LocalDate getFirstAcuseDate() { return firstAcuseDate; }
+    public void setFirstAcuseDate(LocalDate firstAcuseDate) { this.firstAcuseDate = firstAcuseDate; }
+
+    public LocalDate getCurrentDueDate() { return currentDueDate; }
+    public void setCurrentDueDate(LocalDate currentDueDate) { this.currentDueDate = currentDueDate; }
+
+    public LocalDate getCurrentAcuseDate() { return currentAcuseDate; }
+    public void setCurrentAcuseDate(LocalDate currentAcuseDate) { this.currentAcuseDate = currentAcuseDate; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getRowVersion() { return rowVersion; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
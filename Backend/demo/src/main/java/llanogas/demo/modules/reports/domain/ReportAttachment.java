@@ -0,0 +1,89 @@
+package llanogas.demo.modules.reports.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archivo adjunto a un reporte: el acuse de envío o una evidencia.
+ * El contenido vive en disco (LocalAttachmentStorage); aquí sólo
+ * queda la metadata y la llave relativa del archivo.
+ */
+@Entity
+@Table(
+        name = "report_attachments",
+        indexes = {
+                @Index(name = "idx_report_attachments_report", columnList = "report_id, kind, uploaded_at")
+        }
+)
+public class ReportAttachment {
+
+    // Mismos valores que usa el front en reportAttachments
+    public static final String KIND_ACUSE = "acuse";
+    public static final String KIND_EVIDENCE = "evidence";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_attachments_seq")
+    @SequenceGenerator(name = "report_attachments_seq", sequenceName = "report_attachments_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    // Período al que corresponde el acuse (report_occurrences.id), si se pudo asociar
+    @Column(name = "occurrence_id")
+    private Long occurrenceId;
+
+    @Column(name = "kind", nullable = false, length = 20)
+    private String kind;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", length = 150)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    // Ruta relativa dentro del directorio de adjuntos
+    @Column(name = "storage_key", nullable = false, length = 200)
+    private String storageKey;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+
+    @Column(name = "uploaded_by_user_id")
+    private Long uploadedByUserId;
+
+    // ===== Getters / setters =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public Long getOccurrenceId() { return occurrenceId; }
+    public void setOccurrenceId(Long occurrenceId) { this.occurrenceId = occurrenceId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public String getStorageKey() { return storageKey; }
+    public void setStorageKey(String storageKey) { this.storageKey = storageKey; }
+
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+
+    public Long getUploadedByUserId() { return uploadedByUserId; }
+    public void setUploadedByUserId(Long uploadedByUserId) { this.uploadedByUserId = uploadedByUserId; }
+}
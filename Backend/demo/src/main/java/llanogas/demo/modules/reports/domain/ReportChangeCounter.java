@@ -0,0 +1,34 @@
+package llanogas.demo.modules.reports.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * Fila única (id = 1) con la última versión asignada a un cambio de
+ * reportes. Cada transacción que escribe reportes la incrementa justo
+ * antes del commit y queda bloqueada hasta confirmar, así que las
+ * versiones se hacen visibles en orden (ver ReportChangeTracker).
+ */
+@Entity
+@Table(name = "report_change_counter")
+public class ReportChangeCounter {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Las marcas de borrado hasta esta versión ya se purgaron
+    @Column(name = "tombstones_purged_through", nullable = false)
+    private long tombstonesPurgedThrough;
+
+    // ===== Getters / setters =====
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getTombstonesPurgedThrough() { return tombstonesPurgedThrough; }
+    public void setTombstonesPurgedThrough(long tombstonesPurgedThrough) { this.tombstonesPurgedThrough = tombstonesPurgedThrough; }
+}
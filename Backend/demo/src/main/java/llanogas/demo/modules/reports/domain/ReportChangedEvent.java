@@ -0,0 +1,95 @@
+package llanogas.demo.modules.reports.domain;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evento de aplicación que se publica cuando se guardan o eliminan reportes
+ * (creación, edición, importación, upsert). Se publica dentro de la
+ * transacción de la escritura, así que los listeners síncronos quedan
+ * en la misma transacción.
+ *
+ * STATUS_REFRESHED lo publica el barrido diario de estados, que actualiza
+ * en bloque sin saber qué ids cambiaron (la lista va vacía); changedAt es
+ * el status_changed_at que dejó en las filas que tocó.
+ *
+ * En SAVED, quien publica puede mandar los usuarios asignados a esos
+ * reportes antes y después del cambio (responsable y supervisor); así los
+ * listeners saben a quién le afecta, incluido a quien se le quitó el
+ * reporte, sin consultar la base. null = no se calcularon.
+ */
+public class ReportChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+        STATUS_REFRESHED
+    }
+
+    private final Type type;
+    private final List<Long> reportIds;
+    private final LocalDateTime changedAt;
+    private final Set<Long> assigneeUserIds;
+
+    public ReportChangedEvent(Type type, List<Long> reportIds) {
+        this(type, reportIds, null, null);
+    }
+
+    private ReportChangedEvent(Type type, List<Long> reportIds, LocalDateTime changedAt,
+                               Set<Long> assigneeUserIds) {
+        this.type = type;
+        this.reportIds = List.copyOf(reportIds);
+        this.changedAt = changedAt;
+        this.assigneeUserIds = assigneeUserIds;
+    }
+
+    public static ReportChangedEvent saved(List<Long> reportIds) {
+        return new ReportChangedEvent(Type.SAVED, reportIds);
+    }
+
+    /**
+     * assigneeUserIds: asignados antes y después del cambio (los null se ignoran).
+     */
+    public static ReportChangedEvent saved(List<Long> reportIds, Collection<Long> assigneeUserIds) {
+        Set<Long> users = new HashSet<>(assigneeUserIds.size());
+        for (Long userId : assigneeUserIds) {
+            if (userId != null) {
+                users.add(userId);
+            }
+        }
+        return new ReportChangedEvent(Type.SAVED, reportIds, null, Set.copyOf(users));
+    }
+
+    // Responsable y supervisor de los reportes, tal como están ahora en memoria
+    public static Set<Long> assigneesOf(Collection<Report> reports) {
+        Set<Long> users = new HashSet<>();
+        for (Report report : reports) {
+            if (report.getResponsableElaboracionUserId() != null) {
+                users.add(report.getResponsableElaboracionUserId());
+            }
+            if (report.getSupervisorCumplimientoUserId() != null) {
+                users.add(report.getSupervisorCumplimientoUserId());
+            }
+        }
+        return users;
+    }
+
+    public static ReportChangedEvent deleted(List<Long> reportIds) {
+        return new ReportChangedEvent(Type.DELETED, reportIds);
+    }
+
+    public static ReportChangedEvent statusRefreshed(LocalDateTime changedAt) {
+        return new ReportChangedEvent(Type.STATUS_REFRESHED, List.of(), changedAt, null);
+    }
+
+    public Type getType() { return type; }
+
+    public List<Long> getReportIds() { return reportIds; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+
+    public Set<Long> getAssigneeUserIds() { return assigneeUserIds; }
+}
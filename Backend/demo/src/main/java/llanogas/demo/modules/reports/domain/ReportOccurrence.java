@@ -0,0 +1,83 @@
+package llanogas.demo.modules.reports.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Un período concreto de un reporte recurrente (p. ej. el envío de marzo
+ * de un reporte mensual). Lo genera ReportOccurrenceService a partir de
+ * la frecuencia y la fecha ancla del reporte, dentro de una ventana móvil.
+ *
+ * El índice por fecha de vencimiento es el que usan calendario y tableros.
+ */
+@Entity
+@Table(
+        name = "report_occurrences",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_report_occurrences_report_period",
+                columnNames = {"report_id", "period_index"}
+        ),
+        indexes = {
+                @Index(name = "idx_report_occurrences_due_date", columnList = "due_date, report_id"),
+                @Index(name = "idx_report_occurrences_status_due", columnList = "status, due_date")
+        }
+)
+public class ReportOccurrence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_occurrences_seq")
+    @SequenceGenerator(name = "report_occurrences_seq", sequenceName = "report_occurrences_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false)
+    private Long reportId;
+
+    // 0 = la fecha ancla del reporte, 1 = el siguiente período, ...
+    @Column(name = "period_index", nullable = false)
+    private int periodIndex;
+
+    // 2025-03, 2025-T1, 2025-S2, 2025 (según la frecuencia)
+    @Column(name = "period_label", nullable = false, length = 10)
+    private String periodLabel;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private ReportStatus status;
+
+    @Column(name = "status_changed_at")
+    private LocalDateTime statusChangedAt;
+
+    // Fecha del acuse de envío de este período (null = no enviado)
+    @Column(name = "acuse_date")
+    private LocalDate acuseDate;
+
+    // ===== Getters / setters =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public int getPeriodIndex() { return periodIndex; }
+    public void setPeriodIndex(int periodIndex) { this.periodIndex = periodIndex; }
+
+    public String getPeriodLabel() { return periodLabel; }
+    public void setPeriodLabel(String periodLabel) { this.periodLabel = periodLabel; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) { this.statusChangedAt = statusChangedAt; }
+
+    public LocalDate getAcuseDate() { return acuseDate; }
+    public void setAcuseDate(LocalDate acuseDate) { this.acuseDate = acuseDate; }
+}
@@ -2,5 +2,8 @@ package llanogas.demo.modules.reports.domain;
 public enum ReportStatus {
     DENTRO_DEL_PLAZO,
     PENDIENTE,
-    VENCIDO
+    VENCIDO,
+    // Con acuse cargado (ver ReportStatusService)
+    ENVIADO_A_TIEMPO,
+    ENVIADO_TARDE
 }
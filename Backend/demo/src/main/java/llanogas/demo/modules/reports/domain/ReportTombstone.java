@@ -0,0 +1,38 @@
+package llanogas.demo.modules.reports.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de un reporte eliminado, para que /api/reports/changes pueda
+ * avisar el borrado a los clientes que sincronizan por versión.
+ * Los ids de reportes no se reutilizan, así que la llave es el mismo id.
+ */
+@Entity
+@Table(
+        name = "report_tombstones",
+        indexes = @Index(name = "idx_report_tombstones_row_version", columnList = "row_version")
+)
+public class ReportTombstone {
+
+    @Id
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // ===== Getters / setters =====
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public long getRowVersion() { return rowVersion; }
+    public void setRowVersion(long rowVersion) { this.rowVersion = rowVersion; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
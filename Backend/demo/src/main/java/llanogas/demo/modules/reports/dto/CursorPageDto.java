@@ -0,0 +1,40 @@
+package llanogas.demo.modules.reports.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados con paginación por cursor (keyset sobre id).
+ *
+ * nextCursor es el id del último elemento devuelto; el cliente lo manda
+ * tal cual en ?cursor= para pedir la siguiente página. Es null cuando
+ * ya no hay más resultados.
+ */
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+
+    public CursorPageDto() {
+    }
+
+    public CursorPageDto(List<T> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
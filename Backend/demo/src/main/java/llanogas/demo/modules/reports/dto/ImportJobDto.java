@@ -0,0 +1,55 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ImportJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un job de importación en segundo plano.
+ *
+ * result trae los conteos hasta el último bloque confirmado (y los errores
+ * por fila); expectedRows sólo se conoce cuando las filas llegan como JSON.
+ */
+public class ImportJobDto {
+
+    private String id;
+    private ImportJobStatus status;
+    private String source;
+    private String mode;
+    private Integer expectedRows;
+    private ReportImportResultDto result;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public ImportJobStatus getStatus() { return status; }
+    public void setStatus(ImportJobStatus status) { this.status = status; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+
+    public Integer getExpectedRows() { return expectedRows; }
+    public void setExpectedRows(Integer expectedRows) { this.expectedRows = expectedRows; }
+
+    public ReportImportResultDto getResult() { return result; }
+    public void setResult(ReportImportResultDto result) { this.result = result; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,69 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportAttachment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata de un adjunto. El contenido se baja de downloadUrl
+ * (acepta Range para reanudar o previsualizar por partes).
+ */
+public class ReportAttachmentDto {
+
+    private Long id;
+    private Long reportId;
+    private Long occurrenceId;
+    private String kind;
+    private String fileName;
+    private String contentType;
+    private long sizeBytes;
+    private LocalDateTime uploadedAt;
+    private Long uploadedByUserId;
+    private String downloadUrl;
+
+    public static ReportAttachmentDto fromEntity(ReportAttachment entity) {
+        ReportAttachmentDto dto = new ReportAttachmentDto();
+        dto.setId(entity.getId());
+        dto.setReportId(entity.getReportId());
+        dto.setOccurrenceId(entity.getOccurrenceId());
+        dto.setKind(entity.getKind());
+        dto.setFileName(entity.getFileName());
+        dto.setContentType(entity.getContentType());
+        dto.setSizeBytes(entity.getSizeBytes());
+        dto.setUploadedAt(entity.getUploadedAt());
+        dto.setUploadedByUserId(entity.getUploadedByUserId());
+        dto.setDownloadUrl("/api/reports/" + entity.getReportId()
+                + "/attachments/" + entity.getId() + "/content");
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public Long getOccurrenceId() { return occurrenceId; }
+    public void setOccurrenceId(Long occurrenceId) { this.occurrenceId = occurrenceId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public LocalDateTime getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(LocalDateTime uploadedAt) { this.uploadedAt = uploadedAt; }
+
+    public Long getUploadedByUserId() { return uploadedByUserId; }
+    public void setUploadedByUserId(Long uploadedByUserId) { this.uploadedByUserId = uploadedByUserId; }
+
+    public String getDownloadUrl() { return downloadUrl; }
+    public void setDownloadUrl(String downloadUrl) { this.downloadUrl = downloadUrl; }
+}
@@ -0,0 +1,51 @@
+package llanogas.demo.modules.reports.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * Operación masiva sobre reportes (POST /api/reports/bulk).
+ *
+ * Selección: ids, filter o ambos (se toman los que cumplan las dos cosas).
+ * Operaciones:
+ * - reassign: responsableElaboracionUserId y/o supervisorCumplimientoUserId
+ *   (el que venga en null no se toca).
+ * - reschedule: corre fechaInicio y fechaLimiteEnvio shiftDays días
+ *   (negativo = hacia atrás).
+ * - delete.
+ */
+public class ReportBulkRequestDto {
+
+    private List<Long> ids;
+    private ReportFilter filter;
+
+    @NotBlank
+    private String operation;
+
+    private Long responsableElaboracionUserId;
+    private Long supervisorCumplimientoUserId;
+    private Integer shiftDays;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public ReportFilter getFilter() { return filter; }
+    public void setFilter(ReportFilter filter) { this.filter = filter; }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public Long getResponsableElaboracionUserId() { return responsableElaboracionUserId; }
+    public void setResponsableElaboracionUserId(Long responsableElaboracionUserId) {
+        this.responsableElaboracionUserId = responsableElaboracionUserId;
+    }
+
+    public Long getSupervisorCumplimientoUserId() { return supervisorCumplimientoUserId; }
+    public void setSupervisorCumplimientoUserId(Long supervisorCumplimientoUserId) {
+        this.supervisorCumplimientoUserId = supervisorCumplimientoUserId;
+    }
+
+    public Integer getShiftDays() { return shiftDays; }
+    public void setShiftDays(Integer shiftDays) { this.shiftDays = shiftDays; }
+}
@@ -0,0 +1,36 @@
+package llanogas.demo.modules.reports.dto;
+
+/**
+ * Resultado de una operación masiva: cuántos reportes cumplieron la
+ * selección, cuántos se modificaron o borraron y a cuántos les cambió
+ * el estado (sólo al reprogramar).
+ */
+public class ReportBulkResultDto {
+
+    private String operation;
+    private int matched;
+    private int affected;
+    private int statusChanged;
+
+    public ReportBulkResultDto() {
+    }
+
+    public ReportBulkResultDto(String operation, int matched, int affected, int statusChanged) {
+        this.operation = operation;
+        this.matched = matched;
+        this.affected = affected;
+        this.statusChanged = statusChanged;
+    }
+
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+
+    public int getMatched() { return matched; }
+    public void setMatched(int matched) { this.matched = matched; }
+
+    public int getAffected() { return affected; }
+    public void setAffected(int affected) { this.affected = affected; }
+
+    public int getStatusChanged() { return statusChanged; }
+    public void setStatusChanged(int statusChanged) { this.statusChanged = statusChanged; }
+}
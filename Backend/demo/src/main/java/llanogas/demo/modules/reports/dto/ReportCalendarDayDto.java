@@ -0,0 +1,48 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un día del calendario: los vencimientos de ese día y cuántos hay por estado.
+ * Sólo se devuelven los días que tienen al menos un vencimiento.
+ */
+public class ReportCalendarDayDto {
+
+    private LocalDate date;
+    private int total;
+    private Map<ReportStatus, Integer> statusCounts = new EnumMap<>(ReportStatus.class);
+    private List<ReportCalendarEntryDto> items = new ArrayList<>();
+
+    public ReportCalendarDayDto() {
+    }
+
+    public ReportCalendarDayDto(LocalDate date) {
+        this.date = date;
+    }
+
+    public void add(ReportCalendarEntryDto entry) {
+        items.add(entry);
+        total++;
+        if (entry.getStatus() != null) {
+            statusCounts.merge(entry.getStatus(), 1, Integer::sum);
+        }
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public Map<ReportStatus, Integer> getStatusCounts() { return statusCounts; }
+    public void setStatusCounts(Map<ReportStatus, Integer> statusCounts) { this.statusCounts = statusCounts; }
+
+    public List<ReportCalendarEntryDto> getItems() { return items; }
+    public void setItems(List<ReportCalendarEntryDto> items) { this.items = items; }
+}
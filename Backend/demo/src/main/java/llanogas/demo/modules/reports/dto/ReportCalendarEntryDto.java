@@ -0,0 +1,85 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Un vencimiento en el calendario: un período (report_occurrences) con los
+ * datos mínimos del reporte para pintarlo.
+ */
+public class ReportCalendarEntryDto {
+
+    private Long occurrenceId;
+    private Long reportId;
+    private String periodLabel;
+    private LocalDate dueDate;
+    private ReportStatus status;
+    private LocalDate acuseDate;
+    private String nombreReporte;
+    private String entidadControl;
+    private String frecuencia;
+    private Long responsableElaboracionUserId;
+    private Long supervisorCumplimientoUserId;
+
+    public ReportCalendarEntryDto() {
+    }
+
+    // El orden de los parámetros debe coincidir con las consultas de ReportOccurrenceRepository
+    public ReportCalendarEntryDto(Long occurrenceId,
+                                  Long reportId,
+                                  String periodLabel,
+                                  LocalDate dueDate,
+                                  ReportStatus status,
+                                  LocalDate acuseDate,
+                                  String nombreReporte,
+                                  String entidadControl,
+                                  String frecuencia,
+                                  Long responsableElaboracionUserId,
+                                  Long supervisorCumplimientoUserId) {
+        this.occurrenceId = occurrenceId;
+        this.reportId = reportId;
+        this.periodLabel = periodLabel;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.acuseDate = acuseDate;
+        this.nombreReporte = nombreReporte;
+        this.entidadControl = entidadControl;
+        this.frecuencia = frecuencia;
+        this.responsableElaboracionUserId = responsableElaboracionUserId;
+        this.supervisorCumplimientoUserId = supervisorCumplimientoUserId;
+    }
+
+    public Long getOccurrenceId() { return occurrenceId; }
+    public void setOccurrenceId(Long occurrenceId) { this.occurrenceId = occurrenceId; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public String getPeriodLabel() { return periodLabel; }
+    public void setPeriodLabel(String periodLabel) { this.periodLabel = periodLabel; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public LocalDate getAcuseDate() { return acuseDate; }
+    public void setAcuseDate(LocalDate acuseDate) { this.acuseDate = acuseDate; }
+
+    public String getNombreReporte() { return nombreReporte; }
+    public void setNombreReporte(String nombreReporte) { this.nombreReporte = nombreReporte; }
+
+    public String getEntidadControl() { return entidadControl; }
+    public void setEntidadControl(String entidadControl) { this.entidadControl = entidadControl; }
+
+    public String getFrecuencia() { return frecuencia; }
+    public void setFrecuencia(String frecuencia) { this.frecuencia = frecuencia; }
+
+    public Long getResponsableElaboracionUserId() { return responsableElaboracionUserId; }
+    public void setResponsableElaboracionUserId(Long responsableElaboracionUserId) { this.responsableElaboracionUserId = responsableElaboracionUserId; }
+
+    public Long getSupervisorCumplimientoUserId() { return supervisorCumplimientoUserId; }
+    public void setSupervisorCumplimientoUserId(Long supervisorCumplimientoUserId) { this.supervisorCumplimientoUserId = supervisorCumplimientoUserId; }
+}
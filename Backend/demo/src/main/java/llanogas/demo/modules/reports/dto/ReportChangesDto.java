@@ -0,0 +1,40 @@
+package llanogas.demo.modules.reports.dto;
+
+import java.util.List;
+
+/**
+ * Respuesta de /api/reports/changes: reportes creados o modificados y
+ * ids eliminados después del token recibido.
+ *
+ * El cliente guarda token y lo manda en el siguiente ?since=. Si hasMore
+ * es true quedan cambios pendientes y conviene pedir de nuevo enseguida.
+ */
+public class ReportChangesDto {
+
+    private List<ReportDto> changed;
+    private List<Long> deleted;
+    private String token;
+    private boolean hasMore;
+
+    public ReportChangesDto() {
+    }
+
+    public ReportChangesDto(List<ReportDto> changed, List<Long> deleted, String token, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    public List<ReportDto> getChanged() { return changed; }
+    public void setChanged(List<ReportDto> changed) { this.changed = changed; }
+
+    public List<Long> getDeleted() { return deleted; }
+    public void setDeleted(List<Long> deleted) { this.deleted = deleted; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -1,6 +1,9 @@
 package llanogas.demo.modules.reports.dto;
 
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 
 public class ReportDto {
@@ -29,6 +32,18 @@ public class ReportDto {
     private Long responsableElaboracionUserId;
     private Long supervisorCumplimientoUserId;
 
+    // Estado persistido (ver Report.status) y vencimiento del período al que corresponde
+    private ReportStatus status;
+    private LocalDateTime statusChangedAt;
+    private LocalDate currentDueDate;
+
+    // Último cambio (ver /api/reports/changes)
+    private LocalDateTime updatedAt;
+    private Long rowVersion;
+
+    // Para el If-Match de PATCH /api/reports/{id} (también va en el ETag)
+    private Long version;
+
     // Getters / setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -100,4 +115,22 @@ public class ReportDto {
     public void setSupervisorCumplimientoUserId(Long supervisorCumplimientoUserId) {
         this.supervisorCumplimientoUserId = supervisorCumplimientoUserId;
     }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public LocalDateTime getStatusChangedAt() { return statusChangedAt; }
+    public void setStatusChangedAt(LocalDateTime statusChangedAt) { this.statusChangedAt = statusChangedAt; }
+
+    public LocalDate getCurrentDueDate() { return currentDueDate; }
+    public void setCurrentDueDate(LocalDate currentDueDate) { this.currentDueDate = currentDueDate; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getRowVersion() { return rowVersion; }
+    public void setRowVersion(Long rowVersion) { this.rowVersion = rowVersion; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
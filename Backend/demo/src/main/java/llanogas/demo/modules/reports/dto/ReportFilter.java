@@ -0,0 +1,65 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales del listado de reportes (query params de GET /api/reports).
+ * Los campos nulos o vacíos no filtran.
+ *
+ * - dueFrom / dueTo: rango sobre el vencimiento del período vigente
+ *   (currentDueDate), el mismo del que ReportStatusService saca el estado.
+ * - userId: reportes asignados al usuario como responsable o supervisor.
+ * - status: estado persistido (DENTRO_DEL_PLAZO, PENDIENTE, VENCIDO).
+ */
+public class ReportFilter {
+
+    private String entidadControl;
+    private String gerenciaResponsable;
+    private String frecuencia;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private Long userId;
+
+    private ReportStatus status;
+
+    // ===== Getters / setters =====
+
+    public String getEntidadControl() { return entidadControl; }
+    public void setEntidadControl(String entidadControl) { this.entidadControl = entidadControl; }
+
+    public String getGerenciaResponsable() { return gerenciaResponsable; }
+    public void setGerenciaResponsable(String gerenciaResponsable) { this.gerenciaResponsable = gerenciaResponsable; }
+
+    public String getFrecuencia() { return frecuencia; }
+    public void setFrecuencia(String frecuencia) { this.frecuencia = frecuencia; }
+
+    public LocalDate getDueFrom() { return dueFrom; }
+    public void setDueFrom(LocalDate dueFrom) { this.dueFrom = dueFrom; }
+
+    public LocalDate getDueTo() { return dueTo; }
+    public void setDueTo(LocalDate dueTo) { this.dueTo = dueTo; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    // Si no trae ningún criterio, el filtro abarca todos los reportes
+    public boolean hasCriteria() {
+        return hasText(entidadControl) || hasText(gerenciaResponsable) || hasText(frecuencia)
+                || dueFrom != null || dueTo != null || userId != null || status != null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -12,6 +12,9 @@ import java.time.LocalDate;
  */
 public class ReportImportDto {
 
+    // Opcional: ID funcional (REP001...). Si viene, es la llave del upsert
+    private String idReporte;
+
     @NotBlank
     private String entidadControl;          // Entidad
 
@@ -56,6 +59,9 @@ public class ReportImportDto {
     private String correosNotificacion;
 
     // Getters / setters
+    public String getIdReporte() { return idReporte; }
+    public void setIdReporte(String idReporte) { this.idReporte = idReporte; }
+
     public String getEntidadControl() { return entidadControl; }
     public void setEntidadControl(String entidadControl) { this.entidadControl = entidadControl; }
 
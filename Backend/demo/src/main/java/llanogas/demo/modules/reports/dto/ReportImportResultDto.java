@@ -0,0 +1,81 @@
+package llanogas.demo.modules.reports.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumen de una importación (por archivo o en modo upsert). No devuelve los reportes
+ * creados (pueden ser miles); sólo conteos y los errores por fila.
+ */
+public class ReportImportResultDto {
+
+    private int totalRows;
+    private int imported;
+    private int skipped;
+
+    // Detalle del modo upsert (en modo normal todo lo importado es "inserted")
+    private int inserted;
+    private int updated;
+    private int unchanged;
+
+    private List<RowError> errors = new ArrayList<>();
+
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getInserted() { return inserted; }
+    public void setInserted(int inserted) { this.inserted = inserted; }
+
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public int getUnchanged() { return unchanged; }
+    public void setUnchanged(int unchanged) { this.unchanged = unchanged; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    /**
+     * Copia independiente, para publicar el avance de un job mientras sigue corriendo.
+     */
+    public static ReportImportResultDto copyOf(ReportImportResultDto source) {
+        ReportImportResultDto copy = new ReportImportResultDto();
+        copy.setTotalRows(source.getTotalRows());
+        copy.setImported(source.getImported());
+        copy.setSkipped(source.getSkipped());
+        copy.setInserted(source.getInserted());
+        copy.setUpdated(source.getUpdated());
+        copy.setUnchanged(source.getUnchanged());
+        copy.setErrors(new ArrayList<>(source.getErrors()));
+        return copy;
+    }
+
+    /**
+     * Fila rechazada y el motivo (número de fila tal como se ve en Excel).
+     */
+    public static class RowError {
+
+        private int row;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,45 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Mis tareas" de un usuario: los reportes asignados ya agrupados por estado
+ * (en el orden de ReportStatus) y cuántos hay en cada grupo.
+ * Sólo aparecen los estados que tienen al menos un reporte.
+ */
+public class ReportMyTasksDto {
+
+    private Long userId;
+    private int total;
+    private Map<ReportStatus, Integer> statusCounts = new EnumMap<>(ReportStatus.class);
+    private Map<ReportStatus, List<ReportDto>> groups = new EnumMap<>(ReportStatus.class);
+
+    public ReportMyTasksDto() {
+    }
+
+    public ReportMyTasksDto(Long userId) {
+        this.userId = userId;
+    }
+
+    public void addGroup(ReportStatus status, List<ReportDto> reports) {
+        groups.put(status, List.copyOf(reports));
+        statusCounts.put(status, reports.size());
+        total += reports.size();
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public Map<ReportStatus, Integer> getStatusCounts() { return statusCounts; }
+    public void setStatusCounts(Map<ReportStatus, Integer> statusCounts) { this.statusCounts = statusCounts; }
+
+    public Map<ReportStatus, List<ReportDto>> getGroups() { return groups; }
+    public void setGroups(Map<ReportStatus, List<ReportDto>> groups) { this.groups = groups; }
+}
@@ -0,0 +1,53 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportOccurrence;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Un período de un reporte (fila de report_occurrences).
+ */
+public class ReportOccurrenceDto {
+
+    private Long id;
+    private Long reportId;
+    private int periodIndex;
+    private String periodLabel;
+    private LocalDate dueDate;
+    private ReportStatus status;
+    private LocalDate acuseDate;
+
+    public static ReportOccurrenceDto fromEntity(ReportOccurrence entity) {
+        ReportOccurrenceDto dto = new ReportOccurrenceDto();
+        dto.setId(entity.getId());
+        dto.setReportId(entity.getReportId());
+        dto.setPeriodIndex(entity.getPeriodIndex());
+        dto.setPeriodLabel(entity.getPeriodLabel());
+        dto.setDueDate(entity.getDueDate());
+        dto.setStatus(entity.getStatus());
+        dto.setAcuseDate(entity.getAcuseDate());
+        return dto;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public int getPeriodIndex() { return periodIndex; }
+    public void setPeriodIndex(int periodIndex) { this.periodIndex = periodIndex; }
+
+    public String getPeriodLabel() { return periodLabel; }
+    public void setPeriodLabel(String periodLabel) { this.periodLabel = periodLabel; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public LocalDate getAcuseDate() { return acuseDate; }
+    public void setAcuseDate(LocalDate acuseDate) { this.acuseDate = acuseDate; }
+}
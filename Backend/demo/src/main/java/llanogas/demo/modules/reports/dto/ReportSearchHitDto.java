@@ -0,0 +1,41 @@
+package llanogas.demo.modules.reports.dto;
+
+/**
+ * Un resultado de GET /api/reports/search. Trae lo justo para la lista;
+ * el detalle se pide con GET /api/reports/{id}.
+ */
+public class ReportSearchHitDto {
+
+    private Long id;
+    private String idReporte;
+    private String nombreReporte;
+    private String entidadControl;
+    private double score;
+
+    public ReportSearchHitDto() {
+    }
+
+    public ReportSearchHitDto(Long id, String idReporte, String nombreReporte,
+                              String entidadControl, double score) {
+        this.id = id;
+        this.idReporte = idReporte;
+        this.nombreReporte = nombreReporte;
+        this.entidadControl = entidadControl;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getIdReporte() { return idReporte; }
+    public void setIdReporte(String idReporte) { this.idReporte = idReporte; }
+
+    public String getNombreReporte() { return nombreReporte; }
+    public void setNombreReporte(String nombreReporte) { this.nombreReporte = nombreReporte; }
+
+    public String getEntidadControl() { return entidadControl; }
+    public void setEntidadControl(String entidadControl) { this.entidadControl = entidadControl; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,41 @@
+package llanogas.demo.modules.reports.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados de búsqueda, ordenados por relevancia.
+ */
+public class ReportSearchResultDto {
+
+    private String query;
+    private int total;
+    private int offset;
+    private int limit;
+    private List<ReportSearchHitDto> hits;
+
+    public ReportSearchResultDto() {
+    }
+
+    public ReportSearchResultDto(String query, int total, int offset, int limit, List<ReportSearchHitDto> hits) {
+        this.query = query;
+        this.total = total;
+        this.offset = offset;
+        this.limit = limit;
+        this.hits = hits;
+    }
+
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getOffset() { return offset; }
+    public void setOffset(int offset) { this.offset = offset; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public List<ReportSearchHitDto> getHits() { return hits; }
+    public void setHits(List<ReportSearchHitDto> hits) { this.hits = hits; }
+}
@@ -0,0 +1,89 @@
+package llanogas.demo.modules.reports.dto;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Versión liviana de ReportDto para los listados y el dashboard.
+ *
+ * Se arma directo en la consulta (select new / cb.construct), así que no trae
+ * las columnas TEXT (informacionContenido, baseLegal, correosNotificacion) ni
+ * deja entidades en el contexto de persistencia. El detalle completo se pide
+ * con GET /api/reports/{id}.
+ */
+public class ReportSummaryDto {
+
+    private Long id;
+    private String idReporte;
+    private String nombreReporte;
+    private String entidadControl;
+    private String frecuencia;
+    private String gerenciaResponsable;
+    private LocalDate fechaInicio;
+    private LocalDate fechaLimiteEnvio;
+    private Long responsableElaboracionUserId;
+    private Long supervisorCumplimientoUserId;
+    private ReportStatus status;
+
+    public ReportSummaryDto() {
+    }
+
+    // El orden de los parámetros debe coincidir con la consulta en ReportSummaryQueriesImpl
+    public ReportSummaryDto(Long id,
+                            String idReporte,
+                            String nombreReporte,
+                            String entidadControl,
+                            String frecuencia,
+                            String gerenciaResponsable,
+                            LocalDate fechaInicio,
+                            LocalDate fechaLimiteEnvio,
+                            Long responsableElaboracionUserId,
+                            Long supervisorCumplimientoUserId,
+                            ReportStatus status) {
+        this.id = id;
+        this.idReporte = idReporte;
+        this.nombreReporte = nombreReporte;
+        this.entidadControl = entidadControl;
+        this.frecuencia = frecuencia;
+        this.gerenciaResponsable = gerenciaResponsable;
+        this.fechaInicio = fechaInicio;
+        this.fechaLimiteEnvio = fechaLimiteEnvio;
+        this.responsableElaboracionUserId = responsableElaboracionUserId;
+        this.supervisorCumplimientoUserId = supervisorCumplimientoUserId;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getIdReporte() { return idReporte; }
+    public void setIdReporte(String idReporte) { this.idReporte = idReporte; }
+
+    public String getNombreReporte() { return nombreReporte; }
+    public void setNombreReporte(String nombreReporte) { this.nombreReporte = nombreReporte; }
+
+    public String getEntidadControl() { return entidadControl; }
+    public void setEntidadControl(String entidadControl) { this.entidadControl = entidadControl; }
+
+    public String getFrecuencia() { return frecuencia; }
+    public void setFrecuencia(String frecuencia) { this.frecuencia = frecuencia; }
+
+    public String getGerenciaResponsable() { return gerenciaResponsable; }
+    public void setGerenciaResponsable(String gerenciaResponsable) { this.gerenciaResponsable = gerenciaResponsable; }
+
+    public LocalDate getFechaInicio() { return fechaInicio; }
+    public void setFechaInicio(LocalDate fechaInicio) { this.fechaInicio = fechaInicio; }
+
+    public LocalDate getFechaLimiteEnvio() { return fechaLimiteEnvio; }
+    public void setFechaLimiteEnvio(LocalDate fechaLimiteEnvio) { this.fechaLimiteEnvio = fechaLimiteEnvio; }
+
+    public Long getResponsableElaboracionUserId() { return responsableElaboracionUserId; }
+    public void setResponsableElaboracionUserId(Long responsableElaboracionUserId) { this.responsableElaboracionUserId = responsableElaboracionUserId; }
+
+    public Long getSupervisorCumplimientoUserId() { return supervisorCumplimientoUserId; }
+    public void setSupervisorCumplimientoUserId(Long supervisorCumplimientoUserId) { this.supervisorCumplimientoUserId = supervisorCumplimientoUserId; }
+
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+}
@@ -0,0 +1,75 @@
+package llanogas.demo.modules.reports.exporter;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV en UTF-8 con BOM y ";" como separador, que es lo que Excel en español
+ * abre directo (CsvReportRowReader lee ambos separadores).
+ *
+ * Las filas pasan por un buffer chico y salen a la respuesta a medida que se
+ * llena; el encabezado se envía de inmediato.
+ *
+ * Los textos que empiezan por =, +, -, @, tabulador o retorno van con un
+ * apóstrofo delante para que Excel no los tome como fórmula (inyección CSV).
+ */
+public class CsvReportRowWriter implements ReportRowWriter {
+
+    private final CSVPrinter printer;
+
+    public CsvReportRowWriter(OutputStream out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM: sin él Excel abre el archivo como ANSI y daña las tildes
+        writer.write('\uFEFF');
+        this.printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                .setDelimiter(';')
+                .setRecordSeparator("\r\n")
+                .build());
+    }
+
+    @Override
+    public void writeHeader(List<String> headers) throws IOException {
+        printer.printRecord(headers);
+        printer.flush();
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        // LocalDate.toString() es ISO (yyyy-MM-dd), que el importador entiende
+        Object[] safe = new Object[values.length];
+        for (int i = 0; i < values.length; i++) {
+            safe[i] = values[i] instanceof String text ? neutralizeFormula(text) : values[i];
+        }
+        printer.printRecord(safe);
+    }
+
+    static String neutralizeFormula(String text) {
+        return startsLikeFormula(text) ? "'" + text : text;
+    }
+
+    private static boolean startsLikeFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    @Override
+    public void finish() throws IOException {
+        printer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // La salida es de la respuesta: la cierra el contenedor
+        printer.flush();
+    }
+}
@@ -0,0 +1,54 @@
+package llanogas.demo.modules.reports.exporter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Formatos de exportación (?format=csv|xlsx) y el escritor de filas de cada uno.
+ * Lo comparten la exportación de reportes y la de cumplimiento.
+ */
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    XLSX("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat parse(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "csv" -> CSV;
+            case "xlsx" -> XLSX;
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Formato no soportado: se espera csv o xlsx"
+            );
+        };
+    }
+
+    /**
+     * @param sheetName nombre de la hoja en XLSX; el CSV no lo usa
+     */
+    public ReportRowWriter writerFor(OutputStream out, String sheetName) throws IOException {
+        return this == CSV ? new CsvReportRowWriter(out) : new XlsxReportRowWriter(out, sheetName);
+    }
+}
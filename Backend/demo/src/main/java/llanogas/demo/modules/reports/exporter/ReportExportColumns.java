@@ -0,0 +1,55 @@
+package llanogas.demo.modules.reports.exporter;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.importer.ReportImportColumns;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Columnas de la exportación de reportes. Se usan los mismos encabezados
+ * de la importación, así el archivo exportado se puede volver a subir
+ * (en modo upsert, por ID Reporte); al final van columnas sólo informativas
+ * que el importador ignora.
+ */
+public final class ReportExportColumns {
+
+    public static final List<Column> ALL = List.of(
+            new Column(ReportImportColumns.ID_REPORTE, Report::getIdReporte),
+            new Column(ReportImportColumns.ENTIDAD, Report::getEntidadControl),
+            new Column(ReportImportColumns.NOMBRE_REPORTE, Report::getNombreReporte),
+            new Column(ReportImportColumns.INFORMACION, Report::getInformacionContenido),
+            new Column(ReportImportColumns.PERIODICIDAD, Report::getFrecuencia),
+            new Column(ReportImportColumns.CARGO_RESP_ENVIO, Report::getCargoResponsableEnvio),
+            new Column(ReportImportColumns.NOMBRE_RESP_ENVIO, Report::getResponsableElaboracionName),
+            new Column(ReportImportColumns.CORREO_RESP_ENVIO, Report::getEmailResponsableEnvio),
+            new Column(ReportImportColumns.NOMBRE_LIDER_SEG, Report::getResponsableSupervisionName),
+            new Column(ReportImportColumns.CORREO_LIDER_SEG, Report::getEmailLiderSeguimiento),
+            new Column(ReportImportColumns.GERENCIA_RESPONSABLE, Report::getGerenciaResponsable),
+            new Column(ReportImportColumns.MARCO_LEGAL, Report::getBaseLegal),
+            new Column(ReportImportColumns.FECHA_LIMITE_ENVIO, Report::getFechaLimiteEnvio),
+            new Column("Fecha de inicio", Report::getFechaInicio),
+            new Column("Estado", r -> r.getStatus() != null ? r.getStatus().name() : null),
+            new Column("Primer acuse", Report::getFirstAcuseDate)
+    );
+
+    public static final List<String> HEADERS = ALL.stream().map(Column::header).toList();
+
+    private ReportExportColumns() {
+    }
+
+    /**
+     * Valores de una fila en el orden de los encabezados
+     * (String, LocalDate o null).
+     */
+    public static Object[] values(Report report) {
+        Object[] values = new Object[ALL.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ALL.get(i).extractor().apply(report);
+        }
+        return values;
+    }
+
+    public record Column(String header, Function<Report, Object> extractor) {
+    }
+}
@@ -0,0 +1,25 @@
+package llanogas.demo.modules.reports.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escritor de filas de una exportación (CSV / XLSX), la contraparte de
+ * ReportRowReader: recibe una fila a la vez y no las acumula.
+ */
+public interface ReportRowWriter extends Closeable {
+
+    void writeHeader(List<String> headers) throws IOException;
+
+    /**
+     * @param values valores en el orden del encabezado (String, LocalDate, Number o null)
+     */
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Termina el archivo y lo deja escrito completo en la salida.
+     * close() sólo libera recursos.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,97 @@
+package llanogas.demo.modules.reports.exporter;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * XLSX con el modelo streaming de POI (SXSSF): en memoria sólo queda una
+ * ventana de filas, las anteriores se pasan a un temporal comprimido.
+ * Al terminar se arma el zip directo sobre la salida y se borran los temporales.
+ *
+ * El formato exige que el zip se escriba al final, así que los bytes salen
+ * después de la última fila; la memoria igual no depende del número de filas.
+ */
+public class XlsxReportRowWriter implements ReportRowWriter {
+
+    // Filas que SXSSF mantiene en memoria antes de bajarlas al temporal
+    private static final int ROW_WINDOW = 100;
+
+    // Tope de Excel para el texto de una celda
+    private static final int MAX_CELL_LENGTH = 32_767;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final CellStyle dateStyle;
+    private int nextRow = 0;
+
+    public XlsxReportRowWriter(OutputStream out, String sheetName) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.getCreationHelper()
+                .createDataFormat().getFormat("yyyy-mm-dd"));
+    }
+
+    @Override
+    public void writeHeader(List<String> headers) {
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        CellStyle headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else {
+                String text = value.toString();
+                cell.setCellValue(text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text);
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Borra los temporales de la hoja
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,107 @@
+package llanogas.demo.modules.reports.importer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lee un CSV registro por registro (commons-csv no carga el archivo completo).
+ * Soporta "," y ";" como separador (Excel en español exporta con ";").
+ *
+ * La codificación se detecta: UTF-8 (con o sin BOM) si el archivo completo
+ * es UTF-8 válido y, si no, windows-1252, que es lo que guarda Excel en
+ * Windows con "CSV (delimitado por comas)".
+ */
+public class CsvReportRowReader implements ReportRowReader {
+
+    static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    @Override
+    public void read(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, detectCharset(file))) {
+            char delimiter = detectDelimiter(reader);
+
+            CSVFormat format = CSVFormat.DEFAULT.builder()
+                    .setDelimiter(delimiter)
+                    .setIgnoreEmptyLines(true)
+                    .setTrim(true)
+                    .build();
+
+            try (CSVParser parser = format.parse(reader)) {
+                List<String> headers = null;
+                int rowNumber = 0;
+
+                for (CSVRecord record : parser) {
+                    rowNumber++;
+                    if (headers == null) {
+                        headers = record.stream()
+                                .map(ReportImportColumns::normalizeKey)
+                                .toList();
+                        handler.onHeader(headers);
+                        continue;
+                    }
+
+                    Map<String, String> values = new HashMap<>();
+                    for (int i = 0; i < headers.size() && i < record.size(); i++) {
+                        values.put(headers.get(i), record.get(i));
+                    }
+                    handler.onRow(rowNumber, values);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recorre el archivo una vez con un decodificador UTF-8 estricto. Se hace
+     * antes de leer porque las filas ya entregadas al handler se guardan por
+     * bloques y no se pueden volver a leer con otra codificación.
+     */
+    static Charset detectCharset(Path file) throws IOException {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+            char[] buffer = new char[8192];
+            while (reader.read(buffer) != -1) {
+                // sólo se valida
+            }
+            return StandardCharsets.UTF_8;
+        } catch (CharacterCodingException e) {
+            return WINDOWS_1252;
+        }
+    }
+
+    // Mira sólo la primera línea (encabezado) y se devuelve al inicio
+    private char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(8192);
+        String header = reader.readLine();
+        reader.reset();
+
+        if (header == null) {
+            return ',';
+        }
+        // BOM de Excel
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            reader.skip(1);
+        }
+
+        long semicolons = header.chars().filter(c -> c == ';').count();
+        long commas = header.chars().filter(c -> c == ',').count();
+        return semicolons > commas ? ';' : ',';
+    }
+}
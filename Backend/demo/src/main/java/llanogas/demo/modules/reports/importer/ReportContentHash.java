@@ -0,0 +1,75 @@
+package llanogas.demo.modules.reports.importer;
+
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Llave natural y hash de contenido de una fila importada.
+ *
+ * - Llave: idReporte si viene; si no, entidadControl + nombreReporte
+ *   (sin distinguir mayúsculas ni espacios sobrantes).
+ * - Hash: SHA-256 de todos los campos importados en orden fijo. Si coincide
+ *   con el guardado en reports.content_hash la fila no cambió.
+ */
+public final class ReportContentHash {
+
+    // Separador que no aparece en texto normal, para que "a|b" + "c" != "a" + "b|c"
+    private static final char SEPARATOR = '\u001F';
+
+    private ReportContentHash() {
+    }
+
+    public static String naturalKey(String idReporte, String entidadControl, String nombreReporte) {
+        if (idReporte != null && !idReporte.isBlank()) {
+            return "id:" + idReporte.trim();
+        }
+        return "en:" + normalize(entidadControl) + SEPARATOR + normalize(nombreReporte);
+    }
+
+    public static String naturalKey(ReportImportDto dto) {
+        return naturalKey(dto.getIdReporte(), dto.getEntidadControl(), dto.getNombreReporte());
+    }
+
+    public static String hash(ReportImportDto dto) {
+        StringBuilder sb = new StringBuilder(512);
+        append(sb, dto.getIdReporte());
+        append(sb, dto.getEntidadControl());
+        append(sb, dto.getNombreReporte());
+        append(sb, dto.getInformacionContenido());
+        append(sb, dto.getFrecuencia());
+        append(sb, dto.getCargoResponsableEnvio());
+        append(sb, dto.getResponsableElaboracionName());
+        append(sb, dto.getEmailResponsableEnvio());
+        append(sb, dto.getResponsableSupervisionName());
+        append(sb, dto.getEmailLiderSeguimiento());
+        append(sb, dto.getGerenciaResponsable());
+        append(sb, dto.getBaseLegal());
+        append(sb, dto.getFechaLimiteEnvio());
+        append(sb, dto.getFechaInicio());
+        append(sb, dto.getTelefonoResponsable());
+        append(sb, dto.getCorreosNotificacion());
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 viene siempre en la JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder sb, Object value) {
+        sb.append(Objects.toString(value, "")).append(SEPARATOR);
+    }
+
+    // Cómo se comparan entidad y nombre en la llave: sin mayúsculas ni espacios sobrantes
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,155 @@
+package llanogas.demo.modules.reports.importer;
+
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Columnas del Excel de importación (las mismas que EXCEL_COLUMNS en Reports.jsx)
+ * y conversión de una fila a ReportImportDto.
+ */
+public final class ReportImportColumns {
+
+    public static final String ENTIDAD = "Entidad";
+    public static final String NOMBRE_REPORTE = "Nombre del reporte";
+    public static final String INFORMACION = "Información que contiene el reporte";
+    public static final String PERIODICIDAD = "Periodicidad del reporte";
+    public static final String CARGO_RESP_ENVIO = "Cargo Responsable del envío";
+    public static final String NOMBRE_RESP_ENVIO = "Nombre del responsable del envío";
+    public static final String CORREO_RESP_ENVIO = "Correo del responsable del envío";
+    public static final String NOMBRE_LIDER_SEG = "Nombre del Líder responsable del seguimiento";
+    public static final String CORREO_LIDER_SEG = "Correo del Líder responsable del seguimiento";
+    public static final String GERENCIA_RESPONSABLE = "Gerencia Responsable";
+    public static final String MARCO_LEGAL = "Marco Legal";
+    public static final String FECHA_LIMITE_ENVIO = "Fecha Límite de Envío";
+
+    // Opcional: si viene, se usa como llave en el modo upsert
+    public static final String ID_REPORTE = "ID Reporte";
+
+    public static final List<String> REQUIRED = List.of(
+            ENTIDAD, NOMBRE_REPORTE, INFORMACION, PERIODICIDAD,
+            CARGO_RESP_ENVIO, NOMBRE_RESP_ENVIO, CORREO_RESP_ENVIO,
+            NOMBRE_LIDER_SEG, CORREO_LIDER_SEG, GERENCIA_RESPONSABLE,
+            MARCO_LEGAL, FECHA_LIMITE_ENVIO
+    );
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy")
+    );
+
+    // Base de los seriales de fecha de Excel
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private ReportImportColumns() {
+    }
+
+    /**
+     * Igual que normalizeKey del front: sin acentos, sin NBSP,
+     * minúsculas, sólo letras/números/espacio y espacios colapsados.
+     */
+    public static String normalizeKey(String header) {
+        if (header == null) {
+            return "";
+        }
+        return Normalizer.normalize(header, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replace('\u00A0', ' ')
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9 ]+", "")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /**
+     * Columnas requeridas que no están en el encabezado (vacío = todo OK).
+     */
+    public static List<String> missingColumns(Collection<String> normalizedHeaders) {
+        return REQUIRED.stream()
+                .filter(label -> !normalizedHeaders.contains(normalizeKey(label)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convierte una fila (encabezado normalizado → valor) al DTO de importación.
+     * Replica el mapeo que hacía el front antes de mandar el JSON.
+     */
+    public static ReportImportDto toImportDto(Map<String, String> row) {
+        ReportImportDto dto = new ReportImportDto();
+
+        String correoResp = get(row, CORREO_RESP_ENVIO);
+        String correoLider = get(row, CORREO_LIDER_SEG);
+        LocalDate fecha = parseDate(get(row, FECHA_LIMITE_ENVIO));
+
+        String idReporte = get(row, ID_REPORTE);
+        dto.setIdReporte(idReporte.isEmpty() ? null : idReporte);
+        dto.setEntidadControl(get(row, ENTIDAD));
+        dto.setNombreReporte(get(row, NOMBRE_REPORTE));
+        dto.setInformacionContenido(get(row, INFORMACION));
+        dto.setFrecuencia(normalizeFrequency(get(row, PERIODICIDAD)));
+        dto.setCargoResponsableEnvio(get(row, CARGO_RESP_ENVIO));
+        dto.setResponsableElaboracionName(get(row, NOMBRE_RESP_ENVIO));
+        dto.setEmailResponsableEnvio(correoResp);
+        dto.setResponsableSupervisionName(get(row, NOMBRE_LIDER_SEG));
+        dto.setEmailLiderSeguimiento(correoLider);
+        dto.setGerenciaResponsable(get(row, GERENCIA_RESPONSABLE));
+        dto.setBaseLegal(get(row, MARCO_LEGAL));
+        dto.setFechaInicio(fecha);
+        dto.setFechaLimiteEnvio(fecha);
+        dto.setTelefonoResponsable("");
+        dto.setCorreosNotificacion(Stream.of(correoResp, correoLider)
+                .filter(s -> s != null && !s.isBlank())
+                .collect(Collectors.joining(", ")));
+
+        return dto;
+    }
+
+    // Igual que validateFrequency del front; lo desconocido cae en "Mensual"
+    static String normalizeFrequency(String raw) {
+        if (raw == null) {
+            return "Mensual";
+        }
+        return switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "trimestral" -> "Trimestral";
+            case "semestral" -> "Semestral";
+            case "anual", "annual" -> "Anual";
+            default -> "Mensual";
+        };
+    }
+
+    static LocalDate parseDate(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        String value = raw.trim();
+
+        // Serial numérico de Excel (celda sin formato de fecha)
+        if (value.matches("\\d+(\\.\\d+)?")) {
+            return EXCEL_EPOCH.plusDays((long) Double.parseDouble(value));
+        }
+
+        for (DateTimeFormatter fmt : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, fmt);
+            } catch (DateTimeParseException ignored) {
+                // probamos el siguiente formato
+            }
+        }
+        return null;
+    }
+
+    private static String get(Map<String, String> row, String label) {
+        String value = row.get(normalizeKey(label));
+        return value != null ? value.trim() : "";
+    }
+}
@@ -0,0 +1,33 @@
+package llanogas.demo.modules.reports.importer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Lector de filas de un archivo de importación (XLSX / CSV).
+ *
+ * La primera fila se toma como encabezado; cada fila siguiente se entrega
+ * al handler como mapa encabezado-normalizado → valor, sin acumularlas.
+ */
+public interface ReportRowReader {
+
+    void read(Path file, RowHandler handler) throws IOException;
+
+    @FunctionalInterface
+    interface RowHandler {
+        /**
+         * Se llama una vez con los encabezados ya normalizados,
+         * antes de la primera fila de datos.
+         */
+        default void onHeader(Collection<String> normalizedHeaders) {
+        }
+
+        /**
+         * @param rowNumber número de fila en el archivo (1 = encabezado)
+         * @param values    valores de la fila por encabezado normalizado
+         */
+        void onRow(int rowNumber, Map<String, String> values);
+    }
+}
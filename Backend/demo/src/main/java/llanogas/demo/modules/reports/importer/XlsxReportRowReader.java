@@ -0,0 +1,152 @@
+package llanogas.demo.modules.reports.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Lee la primera hoja de un XLSX con el modelo de eventos (SAX) de POI.
+ * No se construye el workbook en memoria: cada fila se arma, se entrega
+ * al handler y se descarta.
+ *
+ * La excepción es la tabla de textos compartidos (sharedStrings.xml):
+ * ReadOnlySharedStringsTable la carga entera en el heap, porque las celdas
+ * la referencian por posición desde cualquier fila. POI 5.2 no trae una
+ * versión respaldada en disco, así que se limita su tamaño descomprimido
+ * y un archivo que lo supera se rechaza en vez de agotar la memoria.
+ */
+public class XlsxReportRowReader implements ReportRowReader {
+
+    // Unos pocos cientos de miles de textos distintos caben holgados
+    static final long MAX_SHARED_STRINGS_BYTES = 64L * 1024 * 1024;
+
+    @Override
+    public void read(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            checkSharedStringsSize(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles,
+                        null,
+                        strings,
+                        new RowCollector(handler),
+                        new IsoDateFormatter(),
+                        false
+                ));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Archivo XLSX inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static void checkSharedStringsSize(OPCPackage pkg) throws IOException {
+        for (PackagePart part : pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType())) {
+            if (part.getSize() > MAX_SHARED_STRINGS_BYTES) {
+                throw new IOException("La tabla de textos del XLSX supera "
+                        + (MAX_SHARED_STRINGS_BYTES / (1024 * 1024)) + " MB; guárdalo como CSV e impórtalo así");
+            }
+        }
+    }
+
+    /**
+     * Arma cada fila a partir de los eventos de celda. Las celdas vacías
+     * no generan evento, por eso se indexa por columna.
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final Map<Integer, String> headers = new HashMap<>();
+        private Map<Integer, String> current;
+        private boolean headerDone = false;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            current = new HashMap<>();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null) {
+                return;
+            }
+            int col = new CellReference(cellReference).getCol();
+            current.put(col, formattedValue.trim());
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerDone) {
+                current.forEach((col, label) ->
+                        headers.put(col, ReportImportColumns.normalizeKey(label)));
+                headerDone = true;
+                handler.onHeader(headers.values());
+                return;
+            }
+            if (current.isEmpty()) {
+                return;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            current.forEach((col, value) -> {
+                String key = headers.get(col);
+                if (key != null) {
+                    values.put(key, value);
+                }
+            });
+            // rowNum es base 0 en POI; lo pasamos base 1 como lo ve el usuario
+            handler.onRow(rowNum + 1, values);
+        }
+    }
+
+    /**
+     * Las celdas con formato de fecha salen como yyyy-MM-dd en vez del
+     * formato visual del libro (que depende de la configuración regional).
+     */
+    private static class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
@@ -1,22 +1,66 @@
 package llanogas.demo.modules.reports.mapper;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import llanogas.demo.modules.reports.domain.Report;
 import llanogas.demo.modules.reports.dto.ReportCreateDto;
 import llanogas.demo.modules.reports.dto.ReportDto;
 import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.importer.ReportContentHash;
+import llanogas.demo.modules.reports.service.ReportStatusService;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 @Component
 public class ReportMapper {
 
+    // Campos que se pueden cambiar por PATCH (los mismos de ReportCreateDto).
+    // required = la columna es NOT NULL: no se acepta null ni vacío.
+    private static final Map<String, PatchField<?>> PATCHABLE = Map.ofEntries(
+            field("idReporte", String.class, false, Report::setIdReporte),
+            field("nombreReporte", String.class, true, Report::setNombreReporte),
+            field("entidadControl", String.class, true, Report::setEntidadControl),
+            field("baseLegal", String.class, false, Report::setBaseLegal),
+            field("informacionContenido", String.class, false, Report::setInformacionContenido),
+            field("cargoResponsableEnvio", String.class, false, Report::setCargoResponsableEnvio),
+            field("responsableElaboracionName", String.class, false, Report::setResponsableElaboracionName),
+            field("responsableElaboracionCC", String.class, false, Report::setResponsableElaboracionCC),
+            field("responsableSupervisionName", String.class, false, Report::setResponsableSupervisionName),
+            field("responsableSupervisionCC", String.class, false, Report::setResponsableSupervisionCC),
+            field("telefonoResponsable", String.class, false, Report::setTelefonoResponsable),
+            field("correosNotificacion", String.class, false, Report::setCorreosNotificacion),
+            field("emailResponsableEnvio", String.class, false, Report::setEmailResponsableEnvio),
+            field("emailLiderSeguimiento", String.class, false, Report::setEmailLiderSeguimiento),
+            field("gerenciaResponsable", String.class, false, Report::setGerenciaResponsable),
+            field("fechaInicio", LocalDate.class, false, Report::setFechaInicio),
+            field("fechaLimiteEnvio", LocalDate.class, false, Report::setFechaLimiteEnvio),
+            field("frecuencia", String.class, true, Report::setFrecuencia),
+            field("responsableElaboracionUserId", Long.class, false, Report::setResponsableElaboracionUserId),
+            field("supervisorCumplimientoUserId", Long.class, false, Report::setSupervisorCumplimientoUserId)
+    );
+
+    private final ReportStatusService reportStatusService;
+    private final ObjectMapper objectMapper;
+
+    public ReportMapper(ReportStatusService reportStatusService, ObjectMapper objectMapper) {
+        this.reportStatusService = reportStatusService;
+        this.objectMapper = objectMapper;
+    }
+
     public Report fromImportDto(ReportImportDto dto) {
         Report entity = new Report();
-        // Si en el Excel tienes algún ID interno, lo setearías acá
-        // entity.setIdReporte(dto.getIdReporte());
-
+        entity.setIdReporte(dto.getIdReporte());
         entity.setEntidadControl(dto.getEntidadControl());
         entity.setNombreReporte(dto.getNombreReporte());
         entity.setInformacionContenido(dto.getInformacionContenido());
@@ -32,6 +76,9 @@ public class ReportMapper {
         entity.setFechaInicio(dto.getFechaInicio());
         entity.setTelefonoResponsable(dto.getTelefonoResponsable());
         entity.setCorreosNotificacion(dto.getCorreosNotificacion());
+        // Para que un re-import (upsert) reconozca la fila como sin cambios
+        entity.setContentHash(ReportContentHash.hash(dto));
+        reportStatusService.refreshStatus(entity);
         return entity;
     }
 
@@ -43,6 +90,7 @@ public class ReportMapper {
     }
 
     public void updateEntityFromCreateDto(ReportCreateDto dto, Report entity) {
+        List<Object> importedBefore = importedFields(entity);
 
         // Campos obligatorios en creación, pero opcionales en update
         if (dto.getIdReporte() != null) {
@@ -112,6 +160,92 @@ public class ReportMapper {
         if (dto.getSupervisorCumplimientoUserId() != null) {
             entity.setSupervisorCumplimientoUserId(dto.getSupervisorCumplimientoUserId());
         }
+
+        forgetContentHashIfEdited(entity, importedBefore);
+        // Las fechas pudieron cambiar
+        reportStatusService.refreshStatus(entity);
+    }
+
+    /**
+     * Aplica un JSON Merge Patch (RFC 7396): campo ausente = sin cambio,
+     * null = se borra el valor. Se valida todo antes de tocar la entidad;
+     * Hibernate (con @DynamicUpdate) escribe sólo lo que quedó distinto.
+     */
+    public void applyMergePatch(JsonNode patch, Report entity) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "El merge patch debe ser un objeto JSON"
+            );
+        }
+
+        List<Runnable> changes = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            PatchField<?> field = PATCHABLE.get(entry.getKey());
+            if (field == null) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Campo no editable: " + entry.getKey()
+                );
+            }
+            changes.add(prepare(entry.getKey(), field, entry.getValue(), entity));
+        }
+        List<Object> importedBefore = importedFields(entity);
+        changes.forEach(Runnable::run);
+        forgetContentHashIfEdited(entity, importedBefore);
+
+        // Las fechas pudieron cambiar
+        reportStatusService.refreshStatus(entity);
+    }
+
+    /**
+     * Si a mano se cambió algo que viene del archivo, el hash ya no describe
+     * la fila: se borra para que un re-import (upsert) la vuelva a escribir
+     * en vez de darla por "sin cambios". Si no cambió nada se deja igual
+     * (con @DynamicUpdate no hay UPDATE).
+     */
+    private static void forgetContentHashIfEdited(Report entity, List<Object> importedBefore) {
+        if (!importedBefore.equals(importedFields(entity))) {
+            entity.setContentHash(null);
+        }
+    }
+
+    // Los mismos campos que entran en ReportContentHash.hash
+    private static List<Object> importedFields(Report entity) {
+        return Arrays.asList(
+                entity.getIdReporte(), entity.getEntidadControl(), entity.getNombreReporte(),
+                entity.getInformacionContenido(), entity.getFrecuencia(), entity.getCargoResponsableEnvio(),
+                entity.getResponsableElaboracionName(), entity.getEmailResponsableEnvio(),
+                entity.getResponsableSupervisionName(), entity.getEmailLiderSeguimiento(),
+                entity.getGerenciaResponsable(), entity.getBaseLegal(), entity.getFechaLimiteEnvio(),
+                entity.getFechaInicio(), entity.getTelefonoResponsable(), entity.getCorreosNotificacion()
+        );
+    }
+
+    private <T> Runnable prepare(String name, PatchField<T> field, JsonNode node, Report entity) {
+        T value = null;
+        if (!node.isNull()) {
+            try {
+                value = objectMapper.treeToValue(node, field.type());
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor inválido para " + name);
+            }
+        }
+        if (field.required() && (value == null || (value instanceof String text && text.isBlank()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " es obligatorio");
+        }
+        T checked = value;
+        return () -> field.setter().accept(entity, checked);
+    }
+
+    private static <T> Map.Entry<String, PatchField<?>> field(String name, Class<T> type, boolean required,
+                                                              BiConsumer<Report, T> setter) {
+        return Map.entry(name, new PatchField<>(type, required, setter));
+    }
+
+    private record PatchField<T>(Class<T> type, boolean required, BiConsumer<Report, T> setter) {
     }
 
     public ReportDto toDto(Report entity) {
@@ -140,6 +274,13 @@ public class ReportMapper {
         dto.setResponsableElaboracionUserId(entity.getResponsableElaboracionUserId());
         dto.setSupervisorCumplimientoUserId(entity.getSupervisorCumplimientoUserId());
 
+        dto.setStatus(entity.getStatus());
+        dto.setStatusChangedAt(entity.getStatusChangedAt());
+        dto.setCurrentDueDate(entity.getCurrentDueDate());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setRowVersion(entity.getRowVersion());
+        dto.setVersion(entity.getVersion());
+
         return dto;
     }
 
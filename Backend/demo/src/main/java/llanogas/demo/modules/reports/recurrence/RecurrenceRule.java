@@ -0,0 +1,78 @@
+package llanogas.demo.modules.reports.recurrence;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Regla de recurrencia tipada a partir del texto de Report.frecuencia.
+ *
+ * Mismos valores que validateFrequency del front (Calendar.jsx / Reports.jsx):
+ * lo desconocido cae en Mensual. Cada ocurrencia k vence en
+ * ancla + k * meses; se calcula siempre desde el ancla para que los
+ * días 29-31 no se vayan corriendo mes a mes.
+ */
+public enum RecurrenceRule {
+
+    MENSUAL(1),
+    TRIMESTRAL(3),
+    SEMESTRAL(6),
+    ANUAL(12);
+
+    private final int months;
+
+    RecurrenceRule(int months) {
+        this.months = months;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public static RecurrenceRule parse(String frecuencia) {
+        if (frecuencia == null) {
+            return MENSUAL;
+        }
+        return switch (frecuencia.trim().toLowerCase(Locale.ROOT)) {
+            case "trimestral" -> TRIMESTRAL;
+            case "semestral" -> SEMESTRAL;
+            case "anual", "annual" -> ANUAL;
+            default -> MENSUAL;
+        };
+    }
+
+    /**
+     * Fecha de vencimiento de la ocurrencia número index (0 = el ancla).
+     */
+    public LocalDate dueDate(LocalDate anchor, int index) {
+        return anchor.plusMonths((long) index * months);
+    }
+
+    /**
+     * Primera ocurrencia que vence en from o después.
+     */
+    public int firstIndexOnOrAfter(LocalDate anchor, LocalDate from) {
+        if (!from.isAfter(anchor)) {
+            return 0;
+        }
+        int index = (int) (ChronoUnit.MONTHS.between(anchor, from) / months);
+        while (dueDate(anchor, index).isBefore(from)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Etiqueta legible del período: 2025-03, 2025-T1, 2025-S2 o 2025.
+     */
+    public String periodLabel(LocalDate due) {
+        int year = due.getYear();
+        int month = due.getMonthValue();
+        return switch (this) {
+            case MENSUAL -> String.format("%d-%02d", year, month);
+            case TRIMESTRAL -> year + "-T" + ((month - 1) / 3 + 1);
+            case SEMESTRAL -> year + "-S" + ((month - 1) / 6 + 1);
+            case ANUAL -> String.valueOf(year);
+        };
+    }
+}
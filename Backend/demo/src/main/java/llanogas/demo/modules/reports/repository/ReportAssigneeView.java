@@ -0,0 +1,13 @@
+package llanogas.demo.modules.reports.repository;
+
+/**
+ * Usuarios asignados a un reporte (para filtrar los eventos por usuario).
+ */
+public interface ReportAssigneeView {
+
+    Long getId();
+
+    Long getResponsableElaboracionUserId();
+
+    Long getSupervisorCumplimientoUserId();
+}
@@ -0,0 +1,35 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.ReportAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportAttachmentRepository extends JpaRepository<ReportAttachment, Long> {
+
+    List<ReportAttachment> findByReportIdOrderByUploadedAtAsc(Long reportId);
+
+    Optional<ReportAttachment> findByIdAndReportId(Long id, Long reportId);
+
+    List<ReportAttachment> findByReportIdIn(Collection<Long> reportIds);
+
+    boolean existsByOccurrenceIdAndKind(Long occurrenceId, String kind);
+
+    // Primer acuse del reporte (lo que usa el front para el estado)
+    @Query("""
+            select min(a.uploadedAt) from ReportAttachment a
+            where a.reportId = :reportId and a.kind = 'acuse'
+            """)
+    LocalDateTime findFirstAcuseAt(@Param("reportId") Long reportId);
+
+    @Query("""
+            select min(a.uploadedAt) from ReportAttachment a
+            where a.occurrenceId = :occurrenceId and a.kind = 'acuse'
+            """)
+    LocalDateTime findFirstAcuseAtForOccurrence(@Param("occurrenceId") Long occurrenceId);
+}
@@ -0,0 +1,21 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.Report;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Lectura de reportes hacia adelante para las exportaciones.
+ */
+public interface ReportExportQueries {
+
+    /**
+     * Recorre los reportes con un cursor de la base: el driver trae las filas
+     * de a fetchSize. Hay que consumirlo dentro de una transacción y cerrarlo.
+     *
+     * @param spec filtro (null = todos)
+     */
+    Stream<Report> streamForExport(Specification<Report> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,54 @@
+package llanogas.demo.modules.reports.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import llanogas.demo.modules.reports.domain.Report;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.stream.Stream;
+
+/**
+ * Fragmento de ReportRepository (Spring Data lo detecta por el sufijo Impl).
+ *
+ * Usa las mismas Specification del listado. Con fetch size, PostgreSQL abre
+ * un cursor en vez de traer todo el resultado (requiere auto-commit apagado,
+ * que ya es la configuración del pool); las entidades salen de sólo lectura
+ * para que Hibernate no guarde su copia para el dirty checking.
+ */
+public class ReportExportQueriesImpl implements ReportExportQueries {
+
+    private final EntityManager entityManager;
+
+    public ReportExportQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<Report> streamForExport(Specification<Report> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Report> query = cb.createQuery(Report.class);
+        Root<Report> root = query.from(Report.class);
+        query.select(root);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,22 @@
+package llanogas.demo.modules.reports.repository;
+
+/**
+ * Proyección mínima para el upsert de importación: llave, hash y
+ * asignados (para el evento), sin traer las columnas TEXT del reporte.
+ */
+public interface ReportKeyView {
+
+    Long getId();
+
+    String getIdReporte();
+
+    String getEntidadControl();
+
+    String getNombreReporte();
+
+    String getContentHash();
+
+    Long getResponsableElaboracionUserId();
+
+    Long getSupervisorCumplimientoUserId();
+}
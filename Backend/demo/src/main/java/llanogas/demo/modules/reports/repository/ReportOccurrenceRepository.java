@@ -0,0 +1,95 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.ReportOccurrence;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportCalendarEntryDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportOccurrenceRepository extends JpaRepository<ReportOccurrence, Long> {
+
+    // Sincronización por bloques de reportes
+    List<ReportOccurrence> findByReportIdIn(Collection<Long> reportIds);
+
+    // Acuses por período para el estado del reporte (ReportStatusService.currentPeriod)
+    List<ReportOccurrence> findByReportIdInAndAcuseDateIsNotNull(Collection<Long> reportIds);
+
+    boolean existsByReportId(Long reportId);
+
+    // Período al que se asocia un acuse sin período explícito
+    Optional<ReportOccurrence> findFirstByReportIdAndAcuseDateIsNullAndDueDateLessThanEqualOrderByDueDateAsc(
+            Long reportId, LocalDate date);
+
+    Optional<ReportOccurrence> findFirstByReportIdAndAcuseDateIsNullAndDueDateGreaterThanOrderByDueDateAsc(
+            Long reportId, LocalDate date);
+
+    List<ReportOccurrence> findByReportIdAndDueDateBetweenOrderByDueDateAsc(Long reportId,
+                                                                            LocalDate from,
+                                                                            LocalDate to);
+
+    // ===== Calendario: rango sobre idx_report_occurrences_due_date =====
+
+    @Query("""
+            select new llanogas.demo.modules.reports.dto.ReportCalendarEntryDto(
+                o.id, o.reportId, o.periodLabel, o.dueDate, o.status, o.acuseDate,
+                r.nombreReporte, r.entidadControl, r.frecuencia,
+                r.responsableElaboracionUserId, r.supervisorCumplimientoUserId)
+            from ReportOccurrence o join Report r on r.id = o.reportId
+            where o.dueDate between :from and :to
+            order by o.dueDate, o.reportId
+            """)
+    List<ReportCalendarEntryDto> findCalendar(@Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+
+    @Query("""
+            select new llanogas.demo.modules.reports.dto.ReportCalendarEntryDto(
+                o.id, o.reportId, o.periodLabel, o.dueDate, o.status, o.acuseDate,
+                r.nombreReporte, r.entidadControl, r.frecuencia,
+                r.responsableElaboracionUserId, r.supervisorCumplimientoUserId)
+            from ReportOccurrence o join Report r on r.id = o.reportId
+            where o.dueDate between :from and :to
+              and (r.responsableElaboracionUserId = :userId
+                   or r.supervisorCumplimientoUserId = :userId)
+            order by o.dueDate, o.reportId
+            """)
+    List<ReportCalendarEntryDto> findCalendarForUser(@Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to,
+                                                     @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from ReportOccurrence o where o.reportId in :reportIds")
+    int deleteByReportIds(@Param("reportIds") Collection<Long> reportIds);
+
+    // ===== Barrido diario de estado (sólo períodos sin acuse) =====
+
+    @Modifying
+    @Query("""
+            update ReportOccurrence o set o.status = :status, o.statusChangedAt = :now
+            where o.acuseDate is null
+              and (o.status is null or o.status <> :status)
+              and o.dueDate >= :dueFrom and o.dueDate < :dueBefore
+            """)
+    int markStatusDueBetween(@Param("status") ReportStatus status,
+                             @Param("dueFrom") LocalDate dueFrom,
+                             @Param("dueBefore") LocalDate dueBefore,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update ReportOccurrence o set o.status = :status, o.statusChangedAt = :now
+            where o.acuseDate is null
+              and (o.status is null or o.status <> :status)
+              and o.dueDate < :dueBefore
+            """)
+    int markStatusDueBefore(@Param("status") ReportStatus status,
+                            @Param("dueBefore") LocalDate dueBefore,
+                            @Param("now") LocalDateTime now);
+}
@@ -1,15 +1,169 @@
 package llanogas.demo.modules.reports.repository;
 
 import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ReportRepository extends JpaRepository<Report, Long> {
+public interface ReportRepository extends JpaRepository<Report, Long>,
+        JpaSpecificationExecutor<Report>,
+        ReportSummaryQueries,
+        ReportExportQueries {
 
+    // "Mis tareas": un OR entre las dos columnas termina en seq scan; con
+    // UNION ALL cada rama usa su índice. La segunda rama descarta lo que ya
+    // trajo la primera, así no se repiten reportes.
+    @Query(value = """
+            select r.* from reports r
+            where r.responsable_elaboracion_user_id = :userId
+            union all
+            select r.* from reports r
+            where r.supervisor_cumplimiento_user_id = :userId
+              and (r.responsable_elaboracion_user_id is null or r.responsable_elaboracion_user_id <> :userId)
+            """, nativeQuery = true)
+    List<Report> findAssignedTo(@Param("userId") Long userId);
 
-    List<Report> findByResponsableElaboracionUserIdOrSupervisorCumplimientoUserId(
-            Long responsableElaboracionUserId,
-            Long supervisorCumplimientoUserId
-    );
+    // Upsert de importación: llaves + hash de los reportes ya existentes
+    // (la búsqueda por nombre normalizado está en ReportUpsertService)
+    List<ReportKeyView> findByIdReporteIn(Collection<String> idReportes);
+
+    // Motor de recurrencia (ReportOccurrenceService)
+    List<ReportScheduleView> findScheduleByIdIn(Collection<Long> ids);
+
+    List<ReportScheduleView> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    // Canal de eventos: a quién avisar de un cambio
+    List<ReportAssigneeView> findAssigneesByIdIn(Collection<Long> ids);
+
+    // Índice de búsqueda (ReportSearchIndex): por ids y por bloques de id
+    List<ReportSearchView> findSearchByIdIn(Collection<Long> ids);
+
+    @Query("""
+            select r.id as id, r.idReporte as idReporte, r.nombreReporte as nombreReporte,
+                   r.entidadControl as entidadControl, r.informacionContenido as informacionContenido,
+                   r.baseLegal as baseLegal
+            from Report r
+            where r.id > :afterId
+            order by r.id asc
+            """)
+    List<ReportSearchView> findSearchAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Sincronización por versión: keyset sobre (row_version, id)
+    @Query("""
+            select r from Report r
+            where r.rowVersion > :version
+               or (r.rowVersion = :version and r.id > :afterId)
+            order by r.rowVersion asc, r.id asc
+            """)
+    List<Report> findChangedAfter(@Param("version") long version,
+                                  @Param("afterId") long afterId,
+                                  Pageable pageable);
+
+    // ===== Barrido diario de estado (ReportStatusSweeper) =====
+    // Cada UPDATE sólo toca las filas cuyo estado guardado no coincide con el
+    // que les corresponde hoy, según el vencimiento del período vigente
+    // (currentDueDate, ver ReportStatusService). Los reportes cuyo período
+    // vigente ya tiene acuse no cambian con el tiempo.
+
+    // Reportes a los que hay que recalcular el período vigente en Java (keyset por id):
+    // sin calcular todavía, con acuse y ya fuera de la gracia (pasan al período
+    // siguiente) o con un vencimiento que quedó antes de la ventana
+    @Query("""
+            select r from Report r
+            where r.id > :afterId
+              and coalesce(r.fechaInicio, r.fechaLimiteEnvio) is not null
+              and (r.currentDueDate is null
+                   or (r.currentAcuseDate is not null and r.currentDueDate < :graceStart)
+                   or r.currentDueDate < :windowStart)
+            order by r.id asc
+            """)
+    List<Report> findNeedingPeriodRefresh(@Param("afterId") long afterId,
+                                          @Param("graceStart") LocalDate graceStart,
+                                          @Param("windowStart") LocalDate windowStart,
+                                          Pageable pageable);
+
+    @Modifying
+    @Query("""
+            update Report r set r.status = :status, r.statusChangedAt = :now, r.version = r.version + 1
+            where r.currentAcuseDate is null
+              and (r.status is null or r.status <> :status)
+              and r.currentDueDate < :dueBefore
+            """)
+    int markStatusDueBefore(@Param("status") ReportStatus status,
+                            @Param("dueBefore") LocalDate dueBefore,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update Report r set r.status = :status, r.statusChangedAt = :now, r.version = r.version + 1
+            where r.currentAcuseDate is null
+              and (r.status is null or r.status <> :status)
+              and r.currentDueDate >= :dueFrom
+              and r.currentDueDate < :dueBefore
+            """)
+    int markStatusDueBetween(@Param("status") ReportStatus status,
+                             @Param("dueFrom") LocalDate dueFrom,
+                             @Param("dueBefore") LocalDate dueBefore,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update Report r set r.status = :status, r.statusChangedAt = :now, r.version = r.version + 1
+            where r.currentAcuseDate is null
+              and (r.status is null or r.status <> :status)
+              and (r.currentDueDate is null or r.currentDueDate >= :dueFrom)
+            """)
+    int markStatusDueFromOrUndated(@Param("status") ReportStatus status,
+                                   @Param("dueFrom") LocalDate dueFrom,
+                                   @Param("now") LocalDateTime now);
+
+    // ================== OPERACIONES MASIVAS ==================
+    // Sin cargar entidades: no pasan por @PreUpdate, así que updatedAt va explícito.
+    // El llamador publica ReportChangedEvent con los ids.
+
+    List<ReportStatusView> findStatusByIdIn(Collection<Long> ids);
+
+    // Un parámetro en null deja el valor actual
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Report r
+               set r.responsableElaboracionUserId = coalesce(:responsableId, r.responsableElaboracionUserId),
+                   r.supervisorCumplimientoUserId = coalesce(:supervisorId, r.supervisorCumplimientoUserId),
+                   r.updatedAt = :now,
+                   r.version = r.version + 1
+             where r.id in :ids
+            """)
+    int reassignByIdIn(@Param("ids") Collection<Long> ids,
+                       @Param("responsableId") Long responsableId,
+                       @Param("supervisorId") Long supervisorId,
+                       @Param("now") LocalDateTime now);
+
+    // El hash de contenido se borra: una re-importación del archivo original
+    // debe volver a aplicar sus fechas en vez de verlas como "sin cambios"
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Report r
+               set r.fechaInicio = r.fechaInicio + :days day,
+                   r.fechaLimiteEnvio = r.fechaLimiteEnvio + :days day,
+                   r.contentHash = null,
+                   r.updatedAt = :now,
+                   r.version = r.version + 1
+             where r.id in :ids
+            """)
+    int shiftDatesByIdIn(@Param("ids") Collection<Long> ids,
+                         @Param("days") int days,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Report r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
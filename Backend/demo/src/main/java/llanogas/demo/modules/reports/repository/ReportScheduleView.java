@@ -0,0 +1,18 @@
+package llanogas.demo.modules.reports.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Lo único que necesita el motor de recurrencia de un reporte:
+ * fechas para resolver el ancla y la frecuencia.
+ */
+public interface ReportScheduleView {
+
+    Long getId();
+
+    LocalDate getFechaInicio();
+
+    LocalDate getFechaLimiteEnvio();
+
+    String getFrecuencia();
+}
@@ -0,0 +1,19 @@
+package llanogas.demo.modules.reports.repository;
+
+/**
+ * Campos de texto que alimentan el índice de búsqueda.
+ */
+public interface ReportSearchView {
+
+    Long getId();
+
+    String getIdReporte();
+
+    String getNombreReporte();
+
+    String getEntidadControl();
+
+    String getInformacionContenido();
+
+    String getBaseLegal();
+}
@@ -0,0 +1,93 @@
+package llanogas.demo.modules.reports.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.dto.ReportFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Predicados dinámicos para el listado de reportes.
+ * Sólo se agregan condiciones para los filtros que vienen informados,
+ * así el WHERE queda lo más simple posible para el planner.
+ */
+public final class ReportSpecifications {
+
+    private ReportSpecifications() {
+    }
+
+    public static Specification<Report> matching(ReportFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter == null) {
+                return cb.conjunction();
+            }
+
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (hasText(filter.getEntidadControl())) {
+                predicates.add(cb.equal(root.get("entidadControl"), filter.getEntidadControl()));
+            }
+            if (hasText(filter.getGerenciaResponsable())) {
+                predicates.add(cb.equal(root.get("gerenciaResponsable"), filter.getGerenciaResponsable()));
+            }
+            if (hasText(filter.getFrecuencia())) {
+                predicates.add(cb.equal(root.get("frecuencia"), filter.getFrecuencia()));
+            }
+
+            // Vencimiento del período vigente: columna propia con índice
+            // (current_due_date, id), a diferencia de un coalesce entre fechas
+            if (filter.getDueFrom() != null || filter.getDueTo() != null) {
+                Path<LocalDate> due = root.get("currentDueDate");
+                if (filter.getDueFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(due, filter.getDueFrom()));
+                }
+                if (filter.getDueTo() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(due, filter.getDueTo()));
+                }
+            }
+
+            if (filter.getUserId() != null) {
+                predicates.add(cb.or(
+                        cb.equal(root.get("responsableElaboracionUserId"), filter.getUserId()),
+                        cb.equal(root.get("supervisorCumplimientoUserId"), filter.getUserId())
+                ));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Sólo esos ids (null = sin restricción). Lo usan las operaciones masivas.
+     */
+    public static Specification<Report> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids == null ? cb.conjunction() : root.get("id").in(ids);
+    }
+
+    /**
+     * Condición de seek sobre id: en orden ascendente se piden los ids
+     * mayores al cursor, en descendente los menores.
+     */
+    public static Specification<Report> afterCursor(Long cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return direction.isDescending()
+                    ? cb.lessThan(root.get("id"), cursor)
+                    : cb.greaterThan(root.get("id"), cursor);
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,26 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.ReportStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Lo que necesita ReportStatusService para recalcular el estado
+ * de un reporte sin cargar la entidad.
+ */
+public interface ReportStatusView {
+
+    Long getId();
+
+    LocalDate getFechaInicio();
+
+    LocalDate getFechaLimiteEnvio();
+
+    String getFrecuencia();
+
+    LocalDate getCurrentDueDate();
+
+    LocalDate getCurrentAcuseDate();
+
+    ReportStatus getStatus();
+}
@@ -0,0 +1,28 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.dto.ReportSummaryDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de ReportRepository que devuelven ReportSummaryDto (o sólo ids)
+ * en vez de entidades.
+ */
+public interface ReportSummaryQueries {
+
+    /**
+     * @param spec  filtro (null = todos)
+     * @param limit máximo de filas (0 = sin límite)
+     */
+    List<ReportSummaryDto> findSummaries(Specification<Report> spec, Sort sort, int limit);
+
+    /**
+     * Ids que cumplen el filtro, en orden ascendente.
+     *
+     * @param limit máximo de filas (0 = sin límite)
+     */
+    List<Long> findIds(Specification<Report> spec, int limit);
+}
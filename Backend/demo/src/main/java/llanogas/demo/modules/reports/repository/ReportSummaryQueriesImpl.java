@@ -0,0 +1,90 @@
+package llanogas.demo.modules.reports.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.dto.ReportSummaryDto;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Fragmento de ReportRepository (Spring Data lo detecta por el sufijo Impl).
+ *
+ * Se usa Criteria con cb.construct para poder reutilizar las mismas
+ * Specification del listado paginado y seleccionar sólo las columnas cortas.
+ */
+public class ReportSummaryQueriesImpl implements ReportSummaryQueries {
+
+    private final EntityManager entityManager;
+
+    public ReportSummaryQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ReportSummaryDto> findSummaries(Specification<Report> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReportSummaryDto> query = cb.createQuery(ReportSummaryDto.class);
+        Root<Report> root = query.from(Report.class);
+
+        query.select(cb.construct(
+                ReportSummaryDto.class,
+                root.get("id"),
+                root.get("idReporte"),
+                root.get("nombreReporte"),
+                root.get("entidadControl"),
+                root.get("frecuencia"),
+                root.get("gerenciaResponsable"),
+                root.get("fechaInicio"),
+                root.get("fechaLimiteEnvio"),
+                root.get("responsableElaboracionUserId"),
+                root.get("supervisorCumplimientoUserId"),
+                root.get("status")
+        ));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<ReportSummaryDto> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Report> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Report> root = query.from(Report.class);
+
+        query.select(root.get("id"));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<Long> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+}
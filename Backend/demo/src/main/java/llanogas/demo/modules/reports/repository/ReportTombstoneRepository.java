@@ -0,0 +1,28 @@
+package llanogas.demo.modules.reports.repository;
+
+import llanogas.demo.modules.reports.domain.ReportTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReportTombstoneRepository extends JpaRepository<ReportTombstone, Long> {
+
+    @Query("""
+            select t from ReportTombstone t
+            where t.rowVersion > :fromVersion and t.rowVersion <= :toVersion
+            order by t.rowVersion asc, t.reportId asc
+            """)
+    List<ReportTombstone> findBetweenVersions(@Param("fromVersion") long fromVersion,
+                                             @Param("toVersion") long toVersion);
+
+    @Query("select max(t.rowVersion) from ReportTombstone t where t.deletedAt < :before")
+    Long findMaxVersionDeletedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from ReportTombstone t where t.rowVersion <= :version")
+    int deleteUpToVersion(@Param("version") long version);
+}
@@ -0,0 +1,342 @@
+package llanogas.demo.modules.reports.search;
+
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.dto.ReportSearchHitDto;
+import llanogas.demo.modules.reports.dto.ReportSearchResultDto;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportSearchView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria sobre el texto de los reportes
+ * (nombre, id, entidad, información/contenido y base legal).
+ *
+ * - Se arma completo al arrancar, leyendo la tabla por bloques de id.
+ * - Después se mantiene con ReportChangedEvent, ya confirmado el commit:
+ *   los reportes guardados se vuelven a leer e indexar y los borrados se quitan.
+ * - Los cambios de otras instancias llegan por applyRemoteChanges, desde la
+ *   misma pasada de ReportReadCache que los invalida en la caché.
+ * - Las consultas no tocan la base: exigen todos los términos (el último
+ *   también como prefijo, para buscar mientras se escribe) y ordenan por
+ *   BM25, con más peso para el nombre y el id del reporte.
+ *
+ * No depende del motor de base de datos, así que funciona igual en H2 y
+ * PostgreSQL. Vive en memoria de cada instancia.
+ */
+@Component
+public class ReportSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    private static final int LOAD_BLOCK_SIZE = 500;
+
+    // Pesos por campo (cuántas veces cuenta cada aparición)
+    private static final float WEIGHT_NOMBRE = 3f;
+    private static final float WEIGHT_ID_REPORTE = 3f;
+    private static final float WEIGHT_BASE_LEGAL = 2f;
+    private static final float WEIGHT_ENTIDAD = 1f;
+    private static final float WEIGHT_CONTENIDO = 1f;
+
+    // Parámetros usuales de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // El último término se busca como prefijo desde este largo
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    public static final int MAX_LIMIT = 100;
+
+    private final ReportRepository reportRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // término -> (reporte -> peso del término en el reporte)
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private Map<Long, IndexedReport> reports = new HashMap<>();
+    private double totalLength = 0;
+
+    // Mientras se reconstruye, ids que cambiaron y hay que revisar al terminar
+    private Set<Long> touchedDuringRebuild = null;
+
+    public ReportSearchIndex(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
+    // ================== CONSTRUCCIÓN ==================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Arma un índice nuevo desde la base y lo reemplaza de una vez. Lo que
+     * cambie mientras tanto se vuelve a leer al final.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ReportSearchIndex fresh = new ReportSearchIndex(reportRepository);
+        long afterId = 0;
+        List<ReportSearchView> block;
+        do {
+            block = reportRepository.findSearchAfterId(afterId, PageRequest.of(0, LOAD_BLOCK_SIZE));
+            for (ReportSearchView view : block) {
+                fresh.put(view);
+                afterId = view.getId();
+            }
+        } while (block.size() == LOAD_BLOCK_SIZE);
+
+        Set<Long> touched;
+        lock.writeLock().lock();
+        try {
+            postings = fresh.postings;
+            reports = fresh.reports;
+            totalLength = fresh.totalLength;
+            touched = touchedDuringRebuild;
+            touchedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refresh(new ArrayList<>(touched));
+
+        log.info("[SEARCH] Índice armado: {} reportes, {} términos en {} ms",
+                size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        switch (event.getType()) {
+            case SAVED -> refresh(event.getReportIds());
+            case DELETED -> removeAll(event.getReportIds());
+            default -> {
+                // El barrido de estados no cambia texto
+            }
+        }
+    }
+
+    /**
+     * Cambios confirmados vistos en report_change_counter (de cualquier
+     * instancia; los propios ya estaban aplicados y se vuelven a leer igual).
+     */
+    public void applyRemoteChanges(List<Long> savedIds, List<Long> deletedIds) {
+        removeAll(deletedIds);
+        refresh(savedIds);
+    }
+
+    private void removeAll(List<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+            markTouched(ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Vuelve a leer esos reportes: los que siguen se reindexan, los que no están se quitan
+    private void refresh(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += LOAD_BLOCK_SIZE) {
+            List<Long> block = ids.subList(from, Math.min(from + LOAD_BLOCK_SIZE, ids.size()));
+            List<ReportSearchView> views = reportRepository.findSearchByIdIn(block);
+
+            lock.writeLock().lock();
+            try {
+                Set<Long> missing = new HashSet<>(block);
+                for (ReportSearchView view : views) {
+                    put(view);
+                    missing.remove(view.getId());
+                }
+                missing.forEach(this::remove);
+                markTouched(block);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void markTouched(List<Long> ids) {
+        if (touchedDuringRebuild != null) {
+            touchedDuringRebuild.addAll(ids);
+        }
+    }
+
+    private void put(ReportSearchView view) {
+        remove(view.getId());
+
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, view.getNombreReporte(), WEIGHT_NOMBRE);
+        addField(weights, view.getIdReporte(), WEIGHT_ID_REPORTE);
+        addField(weights, view.getBaseLegal(), WEIGHT_BASE_LEGAL);
+        addField(weights, view.getEntidadControl(), WEIGHT_ENTIDAD);
+        addField(weights, view.getInformacionContenido(), WEIGHT_CONTENIDO);
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(view.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        reports.put(view.getId(), new IndexedReport(
+                view.getIdReporte(), view.getNombreReporte(), view.getEntidadControl(),
+                length, weights.keySet()));
+        totalLength += length;
+    }
+
+    private void remove(Long id) {
+        IndexedReport old = reports.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= old.length();
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    // ================== CONSULTA ==================
+
+    public ReportSearchResultDto search(String query, int offset, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        int from = Math.max(0, offset);
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new ReportSearchResultDto(query, 0, from, pageSize, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Float>> termPostings = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Map<Long, Float> docs = last ? prefixPostings(terms.get(i)) : postings.get(terms.get(i));
+                if (docs == null || docs.isEmpty()) {
+                    // Se exigen todos los términos
+                    return new ReportSearchResultDto(query, 0, from, pageSize, List.of());
+                }
+                termPostings.add(docs);
+            }
+
+            int n = reports.size();
+            double avgLength = n == 0 ? 1 : totalLength / n;
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = termPostings.get(i).size();
+                idf[i] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            }
+
+            // Se recorre la lista más corta y se verifica en las demás
+            Map<Long, Float> shortest = termPostings.stream()
+                    .min(Comparator.comparingInt(Map::size))
+                    .orElseThrow();
+            List<ScoredReport> matches = new ArrayList<>();
+            for (Long id : shortest.keySet()) {
+                IndexedReport report = reports.get(id);
+                double norm = K1 * (1 - B + B * report.length() / avgLength);
+                double score = 0;
+                boolean all = true;
+                for (int i = 0; i < termPostings.size() && all; i++) {
+                    Float tf = termPostings.get(i).get(id);
+                    if (tf == null) {
+                        all = false;
+                    } else {
+                        score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                    }
+                }
+                if (all) {
+                    matches.add(new ScoredReport(id, score));
+                }
+            }
+
+            matches.sort(Comparator.comparingDouble(ScoredReport::score).reversed()
+                    .thenComparingLong(ScoredReport::id));
+
+            List<ReportSearchHitDto> hits = new ArrayList<>();
+            for (int i = from; i < matches.size() && hits.size() < pageSize; i++) {
+                ScoredReport match = matches.get(i);
+                IndexedReport report = reports.get(match.id());
+                hits.add(new ReportSearchHitDto(match.id(), report.idReporte(), report.nombreReporte(),
+                        report.entidadControl(), Math.round(match.score() * 1000) / 1000.0));
+            }
+            return new ReportSearchResultDto(query, matches.size(), from, pageSize, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Términos que empiezan por term (el propio incluido); por reporte se queda el mayor peso.
+    // Se unen todas las expansiones: cortarlas en orden alfabético perdía
+    // resultados y dejaba el total por debajo. El costo nunca pasa de recorrer
+    // las entradas de los términos con ese prefijo.
+    private Map<Long, Float> prefixPostings(String term) {
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            return postings.get(term);
+        }
+        Map<Long, Float> merged = new HashMap<>();
+        for (Map<Long, Float> docs : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            docs.forEach((id, weight) -> merged.merge(id, weight, Math::max));
+        }
+        return merged;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return reports.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record IndexedReport(String idReporte, String nombreReporte, String entidadControl,
+                                 float length, Set<String> terms) {
+    }
+
+    private record ScoredReport(long id, double score) {
+    }
+}
@@ -0,0 +1,223 @@
+package llanogas.demo.modules.reports.service;
+
+import llanogas.demo.modules.reports.domain.ImportJobStatus;
+import llanogas.demo.modules.reports.dto.ImportJobDto;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Importaciones en segundo plano: la request sólo registra el job y responde
+ * con su id; el trabajo corre en "reportImportExecutor" (pool acotado) y
+ * confirma por bloques reutilizando {@link ReportFileImportService}.
+ *
+ * Los jobs viven en memoria de esta instancia; los terminados se descartan
+ * pasada una hora.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final long RETENTION_MINUTES = 60;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final ReportFileImportService reportFileImportService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ImportJobService(ReportFileImportService reportFileImportService,
+                            @Qualifier("reportImportExecutor") ThreadPoolTaskExecutor executor) {
+        this.reportFileImportService = reportFileImportService;
+        this.executor = executor;
+    }
+
+    public ImportJobDto submitFile(MultipartFile file, boolean upsert) {
+        // Se copia en el hilo de la request: el multipart se borra al responder
+        Path tmp = reportFileImportService.storeTempFile(file);
+        ImportJob job = new ImportJob(file.getOriginalFilename(), upsert, null);
+        return submit(job,
+                () -> reportFileImportService.importStoredFile(tmp, job.source, upsert, job),
+                () -> ReportFileImportService.deleteQuietly(tmp));
+    }
+
+    public ImportJobDto submitRows(List<ReportImportDto> rows, boolean upsert) {
+        if (rows == null || rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No hay filas para importar");
+        }
+        ImportJob job = new ImportJob("json", upsert, rows.size());
+        return submit(job,
+                () -> reportFileImportService.importRows(rows, upsert, job),
+                () -> { });
+    }
+
+    public ImportJobDto getJob(String id) {
+        return findJob(id).toDto();
+    }
+
+    /**
+     * Si está en cola no llega a empezar; si está corriendo se detiene en la
+     * siguiente fila. Lo ya confirmado no se revierte.
+     */
+    public ImportJobDto cancelJob(String id) {
+        ImportJob job = findJob(id);
+        job.requestCancel();
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000)
+    public void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinishedBefore(limit));
+    }
+
+    private ImportJobDto submit(ImportJob job, Supplier<ReportImportResultDto> work, Runnable cleanup) {
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, work, cleanup));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            cleanup.run();
+            throw new ResponseStatusException(
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    "Hay demasiadas importaciones en curso; intenta de nuevo en unos minutos"
+            );
+        }
+        log.info("[IMPORT-JOB] {} en cola ({}, {})", job.id, job.source, job.mode());
+        return job.toDto();
+    }
+
+    private void run(ImportJob job, Supplier<ReportImportResultDto> work, Runnable cleanup) {
+        try {
+            if (!job.start()) {
+                return; // se canceló mientras esperaba en la cola
+            }
+            job.finish(ImportJobStatus.COMPLETADO, work.get(), null);
+        } catch (ReportFileImportService.ImportCancelledException e) {
+            job.finish(ImportJobStatus.CANCELADO, null,
+                    "Cancelado; los bloques ya confirmados se conservan");
+        } catch (ResponseStatusException e) {
+            job.finish(ImportJobStatus.FALLIDO, null, e.getReason());
+        } catch (RuntimeException e) {
+            log.error("[IMPORT-JOB] {} falló", job.id, e);
+            job.finish(ImportJobStatus.FALLIDO, null, e.getMessage());
+        } finally {
+            cleanup.run();
+            log.info("[IMPORT-JOB] {} terminó: {}", job.id, job.toDto().getStatus());
+        }
+    }
+
+    private ImportJob findJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job de importación no encontrado");
+        }
+        return job;
+    }
+
+    /**
+     * Estado mutable de un job. Lo escribe el hilo del pool y lo leen las
+     * requests de consulta, por eso los cambios van sincronizados.
+     */
+    private static class ImportJob implements ReportFileImportService.ImportProgress {
+
+        private final String id = UUID.randomUUID().toString();
+        private final String source;
+        private final boolean upsert;
+        private final Integer expectedRows;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile boolean cancelRequested = false;
+        private ImportJobStatus status = ImportJobStatus.EN_COLA;
+        private ReportImportResultDto result = new ReportImportResultDto();
+        private String message;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+
+        ImportJob(String source, boolean upsert, Integer expectedRows) {
+            this.source = source;
+            this.upsert = upsert;
+            this.expectedRows = expectedRows;
+        }
+
+        String mode() {
+            return upsert ? "upsert" : "insert";
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested;
+        }
+
+        @Override
+        public synchronized void onChunkCommitted(ReportImportResultDto snapshot) {
+            this.result = snapshot;
+        }
+
+        synchronized boolean start() {
+            if (cancelRequested) {
+                finishLocked(ImportJobStatus.CANCELADO, null, "Cancelado antes de empezar");
+                return false;
+            }
+            status = ImportJobStatus.EN_PROCESO;
+            startedAt = LocalDateTime.now();
+            return true;
+        }
+
+        synchronized void requestCancel() {
+            if (!status.isFinished()) {
+                cancelRequested = true;
+            }
+        }
+
+        // finalResult null = quedarse con el avance del último bloque confirmado
+        synchronized void finish(ImportJobStatus finalStatus, ReportImportResultDto finalResult, String finalMessage) {
+            finishLocked(finalStatus, finalResult, finalMessage);
+        }
+
+        private void finishLocked(ImportJobStatus finalStatus, ReportImportResultDto finalResult, String finalMessage) {
+            status = finalStatus;
+            if (finalResult != null) {
+                result = finalResult;
+            }
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime limit) {
+            return status.isFinished() && finishedAt.isBefore(limit);
+        }
+
+        synchronized ImportJobDto toDto() {
+            ImportJobDto dto = new ImportJobDto();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setSource(source);
+            dto.setMode(mode());
+            dto.setExpectedRows(expectedRows);
+            dto.setResult(result);
+            dto.setMessage(cancelRequested && !status.isFinished() ? "Cancelando..." : message);
+            dto.setCreatedAt(createdAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
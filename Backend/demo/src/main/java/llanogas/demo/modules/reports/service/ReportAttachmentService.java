@@ -0,0 +1,228 @@
+package llanogas.demo.modules.reports.service;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportAttachment;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.dto.ReportAttachmentDto;
+import llanogas.demo.modules.reports.repository.ReportAttachmentRepository;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.storage.LocalAttachmentStorage;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Acuses y evidencias de los reportes. El archivo va al disco
+ * ({@link LocalAttachmentStorage}) y la base sólo guarda los metadatos.
+ *
+ * Cada acuse se asocia a un período (report_occurrences); el estado del
+ * reporte sale del acuse de su período vigente (ReportStatusService), así
+ * que el acuse de un mes no da por enviado el siguiente. En el reporte
+ * queda además la fecha del primer acuse, sólo como dato informativo.
+ */
+@Service
+@Transactional
+public class ReportAttachmentService {
+
+    private final ReportAttachmentRepository attachmentRepository;
+    private final ReportRepository reportRepository;
+    private final ReportOccurrenceService occurrenceService;
+    private final ReportStatusService reportStatusService;
+    private final LocalAttachmentStorage storage;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReportAttachmentService(ReportAttachmentRepository attachmentRepository,
+                                   ReportRepository reportRepository,
+                                   ReportOccurrenceService occurrenceService,
+                                   ReportStatusService reportStatusService,
+                                   LocalAttachmentStorage storage,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.attachmentRepository = attachmentRepository;
+        this.reportRepository = reportRepository;
+        this.occurrenceService = occurrenceService;
+        this.reportStatusService = reportStatusService;
+        this.storage = storage;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ReportAttachmentDto upload(Long reportId, MultipartFile file, String kind,
+                                      Long occurrenceId, Long userId) {
+        String normalizedKind = normalizeKind(kind);
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El archivo está vacío");
+        }
+        Report report = findReport(reportId);
+
+        String key;
+        try {
+            key = storage.store(reportId, file);
+        } catch (IOException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "No se pudo guardar el archivo: " + e.getMessage(),
+                    e
+            );
+        }
+        // Si la transacción no se confirma, el archivo no debe quedar huérfano
+        deleteFileOnRollback(key);
+
+        ReportAttachment attachment = new ReportAttachment();
+        attachment.setReportId(reportId);
+        attachment.setKind(normalizedKind);
+        attachment.setFileName(file.getOriginalFilename());
+        attachment.setContentType(file.getContentType());
+        attachment.setSizeBytes(file.getSize());
+        attachment.setStorageKey(key);
+        attachment.setUploadedAt(LocalDateTime.now());
+        attachment.setUploadedByUserId(userId);
+
+        if (ReportAttachment.KIND_ACUSE.equals(normalizedKind)) {
+            LocalDate acuseDate = attachment.getUploadedAt().toLocalDate();
+            attachment.setOccurrenceId(occurrenceService.registerAcuse(reportId, occurrenceId, acuseDate));
+            if (report.getFirstAcuseDate() == null || acuseDate.isBefore(report.getFirstAcuseDate())) {
+                report.setFirstAcuseDate(acuseDate);
+            }
+            reportStatusService.refreshStatus(report);
+        }
+
+        ReportAttachment saved = attachmentRepository.save(attachment);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(
+                List.of(reportId), ReportChangedEvent.assigneesOf(List.of(report))));
+        return ReportAttachmentDto.fromEntity(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportAttachmentDto> list(Long reportId) {
+        findReport(reportId);
+        return attachmentRepository.findByReportIdOrderByUploadedAtAsc(reportId)
+                .stream()
+                .map(ReportAttachmentDto::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Metadatos y contenido para la descarga. El Resource apunta al archivo
+     * en disco; el controller lo devuelve tal cual (con soporte de Range).
+     */
+    @Transactional(readOnly = true)
+    public AttachmentContent loadContent(Long reportId, Long attachmentId) {
+        ReportAttachment attachment = findAttachment(reportId, attachmentId);
+        Path path = storage.resolve(attachment.getStorageKey());
+        if (!Files.isReadable(path)) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "El archivo del adjunto " + attachmentId + " no está disponible"
+            );
+        }
+        return new AttachmentContent(ReportAttachmentDto.fromEntity(attachment), new FileSystemResource(path));
+    }
+
+    public void delete(Long reportId, Long attachmentId) {
+        ReportAttachment attachment = findAttachment(reportId, attachmentId);
+        attachmentRepository.delete(attachment);
+        attachmentRepository.flush();
+        deleteFileAfterCommit(attachment.getStorageKey());
+
+        Report report = findReport(reportId);
+        if (ReportAttachment.KIND_ACUSE.equals(attachment.getKind())) {
+            if (attachment.getOccurrenceId() != null) {
+                occurrenceService.updateAcuse(attachment.getOccurrenceId(),
+                        toDate(attachmentRepository.findFirstAcuseAtForOccurrence(attachment.getOccurrenceId())));
+            }
+            report.setFirstAcuseDate(toDate(attachmentRepository.findFirstAcuseAt(reportId)));
+            reportStatusService.refreshStatus(report);
+        }
+        eventPublisher.publishEvent(ReportChangedEvent.saved(
+                List.of(reportId), ReportChangedEvent.assigneesOf(List.of(report))));
+    }
+
+    /**
+     * Al borrar reportes se van también sus adjuntos (los archivos, después del commit).
+     */
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.getType() != ReportChangedEvent.Type.DELETED) {
+            return;
+        }
+        List<ReportAttachment> attachments = attachmentRepository.findByReportIdIn(event.getReportIds());
+        if (attachments.isEmpty()) {
+            return;
+        }
+        attachmentRepository.deleteAllInBatch(attachments);
+        attachments.forEach(a -> deleteFileAfterCommit(a.getStorageKey()));
+    }
+
+    private Report findReport(Long reportId) {
+        return reportRepository.findById(reportId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Reporte no encontrado: " + reportId
+                ));
+    }
+
+    private ReportAttachment findAttachment(Long reportId, Long attachmentId) {
+        return attachmentRepository.findByIdAndReportId(attachmentId, reportId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Adjunto no encontrado: " + attachmentId
+                ));
+    }
+
+    private static String normalizeKind(String kind) {
+        String value = kind == null ? "" : kind.trim().toLowerCase(Locale.ROOT);
+        return switch (value) {
+            case ReportAttachment.KIND_ACUSE -> ReportAttachment.KIND_ACUSE;
+            case ReportAttachment.KIND_EVIDENCE, "evidencia" -> ReportAttachment.KIND_EVIDENCE;
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Tipo de adjunto inválido: se espera 'acuse' o 'evidence'"
+            );
+        };
+    }
+
+    private static LocalDate toDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toLocalDate();
+    }
+
+    private void deleteFileOnRollback(String key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    storage.deleteQuietly(key);
+                }
+            }
+        });
+    }
+
+    private void deleteFileAfterCommit(String key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storage.deleteQuietly(key);
+            }
+        });
+    }
+
+    /**
+     * Lo que necesita el controller para armar la respuesta de descarga.
+     */
+    public record AttachmentContent(ReportAttachmentDto attachment, Resource resource) {
+    }
+}
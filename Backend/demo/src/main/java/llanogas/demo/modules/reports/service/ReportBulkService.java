@@ -0,0 +1,248 @@
+package llanogas.demo.modules.reports.service;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportBulkRequestDto;
+import llanogas.demo.modules.reports.dto.ReportBulkResultDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
+import llanogas.demo.modules.reports.repository.ReportAssigneeView;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportSpecifications;
+import llanogas.demo.modules.reports.repository.ReportStatusView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Operaciones masivas sobre reportes (reasignar, reprogramar, borrar)
+ * en una sola transacción.
+ *
+ * Primero se resuelve la selección a ids y después se ejecutan UPDATE /
+ * DELETE por bloques de ids, sin cargar entidades. Al final se publica
+ * un único ReportChangedEvent con todos los ids, así ocurrencias, adjuntos,
+ * sincronización, SSE y búsqueda se enteran igual que con una edición.
+ */
+@Service
+@Transactional
+public class ReportBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportBulkService.class);
+
+    // Tamaño de la lista IN de cada sentencia
+    private static final int BLOCK_SIZE = 500;
+
+    private static final String PERIOD_STATUS_SQL = """
+            update reports set status = ?, current_due_date = ?, current_acuse_date = ?,
+                   status_changed_at = case when status = ? then status_changed_at else ? end
+            where id = ?
+            """;
+
+    private final ReportRepository reportRepository;
+    private final ReportStatusService reportStatusService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Tope de reportes por operación, para que una selección mal armada no bloquee la tabla
+    @Value("${reports.bulk.max-reports:5000}")
+    private int maxReports;
+
+    public ReportBulkService(ReportRepository reportRepository,
+                             ReportStatusService reportStatusService,
+                             JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher) {
+        this.reportRepository = reportRepository;
+        this.reportStatusService = reportStatusService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public ReportBulkResultDto execute(ReportBulkRequestDto request) {
+        Operation operation = Operation.parse(request.getOperation());
+        operation.validate(request);
+
+        List<Long> ids = select(request);
+        if (ids.isEmpty()) {
+            return new ReportBulkResultDto(operation.code, 0, 0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int affected;
+        int statusChanged = 0;
+
+        switch (operation) {
+            case REASSIGN -> {
+                // Los asignados de antes también reciben el cambio: se les quitó el reporte
+                Set<Long> assignees = currentAssignees(ids);
+                affected = inBlocks(ids, block -> reportRepository.reassignByIdIn(block,
+                        request.getResponsableElaboracionUserId(),
+                        request.getSupervisorCumplimientoUserId(),
+                        now));
+                assignees.add(request.getResponsableElaboracionUserId());
+                assignees.add(request.getSupervisorCumplimientoUserId());
+                eventPublisher.publishEvent(ReportChangedEvent.saved(ids, assignees));
+            }
+            case RESCHEDULE -> {
+                Set<Long> assignees = currentAssignees(ids);
+                affected = inBlocks(ids, block -> reportRepository.shiftDatesByIdIn(block,
+                        request.getShiftDays(), now));
+                statusChanged = inBlocks(ids, block -> refreshStatuses(block, now));
+                eventPublisher.publishEvent(ReportChangedEvent.saved(ids, assignees));
+            }
+            case DELETE -> {
+                affected = inBlocks(ids, reportRepository::deleteByIdIn);
+                eventPublisher.publishEvent(ReportChangedEvent.deleted(ids));
+            }
+            default -> throw new IllegalStateException("Operación sin implementar: " + operation);
+        }
+
+        log.info("[BULK] {}: {} reportes seleccionados, {} afectados, {} cambiaron de estado",
+                operation.code, ids.size(), affected, statusChanged);
+        return new ReportBulkResultDto(operation.code, ids.size(), affected, statusChanged);
+    }
+
+    private List<Long> select(ReportBulkRequestDto request) {
+        List<Long> ids = request.getIds();
+        ReportFilter filter = request.getFilter();
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byFilter = filter != null && filter.hasCriteria();
+        if (!byIds && !byFilter) {
+            // Un filtro vacío abarcaría todos los reportes: tiene que pedirse explícito
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Indica los ids o un filtro con al menos un criterio"
+            );
+        }
+
+        Specification<Report> spec = ReportSpecifications.idIn(byIds ? ids : null);
+        if (byFilter) {
+            spec = spec.and(ReportSpecifications.matching(filter));
+        }
+        List<Long> selected = reportRepository.findIds(spec, maxReports + 1);
+        if (selected.size() > maxReports) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "La selección supera el máximo de " + maxReports + " reportes por operación"
+            );
+        }
+        return selected;
+    }
+
+    // Mismas reglas que ReportStatusService: el período vigente depende de
+    // las fechas nuevas y de los acuses de cada reporte, así que va un UPDATE
+    // por reporte que cambió, todos en un batch
+    private int refreshStatuses(List<Long> block, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        Map<Long, Map<Integer, LocalDate>> acuses = reportStatusService.acusesByReport(block);
+        List<Object[]> updates = new ArrayList<>();
+        int changed = 0;
+        for (ReportStatusView view : reportRepository.findStatusByIdIn(block)) {
+            LocalDate anchor = view.getFechaInicio() != null ? view.getFechaInicio() : view.getFechaLimiteEnvio();
+            ReportStatusService.CurrentPeriod period = reportStatusService.currentPeriod(
+                    anchor, view.getFrecuencia(), acuses.getOrDefault(view.getId(), Map.of()), today);
+            ReportStatus status = reportStatusService.calculateStatus(period.dueDate(), period.acuseDate(), today);
+            boolean statusChanged = status != view.getStatus();
+            if (statusChanged
+                    || !Objects.equals(period.dueDate(), view.getCurrentDueDate())
+                    || !Objects.equals(period.acuseDate(), view.getCurrentAcuseDate())) {
+                updates.add(new Object[]{
+                        status.name(), toSqlDate(period.dueDate()), toSqlDate(period.acuseDate()),
+                        status.name(), Timestamp.valueOf(now), view.getId()
+                });
+            }
+            if (statusChanged) {
+                changed++;
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(PERIOD_STATUS_SQL, updates);
+        }
+        return changed;
+    }
+
+    private static Date toSqlDate(LocalDate date) {
+        return date == null ? null : Date.valueOf(date);
+    }
+
+    private Set<Long> currentAssignees(List<Long> ids) {
+        Set<Long> users = new HashSet<>();
+        inBlocks(ids, block -> {
+            for (ReportAssigneeView assignee : reportRepository.findAssigneesByIdIn(block)) {
+                users.add(assignee.getResponsableElaboracionUserId());
+                users.add(assignee.getSupervisorCumplimientoUserId());
+            }
+            return 0;
+        });
+        return users;
+    }
+
+    private static int inBlocks(List<Long> ids, ToIntFunction<List<Long>> statement) {
+        int total = 0;
+        for (int from = 0; from < ids.size(); from += BLOCK_SIZE) {
+            total += statement.applyAsInt(ids.subList(from, Math.min(from + BLOCK_SIZE, ids.size())));
+        }
+        return total;
+    }
+
+    private enum Operation {
+        REASSIGN("reassign"),
+        RESCHEDULE("reschedule"),
+        DELETE("delete");
+
+        private final String code;
+
+        Operation(String code) {
+            this.code = code;
+        }
+
+        static Operation parse(String value) {
+            String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+            for (Operation operation : values()) {
+                if (operation.code.equals(normalized)) {
+                    return operation;
+                }
+            }
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Operación inválida: se espera reassign, reschedule o delete"
+            );
+        }
+
+        void validate(ReportBulkRequestDto request) {
+            if (this == REASSIGN && request.getResponsableElaboracionUserId() == null
+                    && request.getSupervisorCumplimientoUserId() == null) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "reassign necesita responsableElaboracionUserId o supervisorCumplimientoUserId"
+                );
+            }
+            if (this == RESCHEDULE && (request.getShiftDays() == null || request.getShiftDays() == 0)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "reschedule necesita shiftDays distinto de 0"
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package llanogas.demo.modules.reports.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportTombstone;
+import llanogas.demo.modules.reports.dto.ReportChangesDto;
+import llanogas.demo.modules.reports.mapper.ReportMapper;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Versiona los cambios de reportes para la sincronización incremental
+ * (GET /api/reports/changes?since=).
+ *
+ * Cada transacción que escribe reportes (ReportChangedEvent) toma, justo
+ * antes del commit, la siguiente versión de report_change_counter y la
+ * deja en row_version de las filas que tocó; los borrados quedan como
+ * marcas en report_tombstones. El UPDATE del contador bloquea esa fila
+ * hasta el commit, así que las versiones se confirman en orden: quien ve
+ * la versión N ya ve todas las anteriores y el token nunca salta cambios.
+ *
+ * Como esa fila es única y serializa a todas las escrituras, el trabajo
+ * pesado va antes de tomarla: las filas se marcan primero con una versión
+ * provisional negativa (invisible para las consultas, que piden versiones
+ * mayores a un token >= 0) y, ya con el contador bloqueado, un solo UPDATE
+ * por tabla cambia esa marca por la versión real usando el índice de
+ * row_version. El bloqueo dura dos sentencias más el commit, no el flush ni
+ * el marcado por bloques de ids.
+ */
+@Service
+public class ReportChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportChangeTracker.class);
+
+    private static final int STAMP_BLOCK_SIZE = 500;
+
+    private final ReportRepository reportRepository;
+    private final ReportTombstoneRepository tombstoneRepository;
+    private final ReportMapper reportMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reports.changes.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+
+    public ReportChangeTracker(ReportRepository reportRepository,
+                               ReportTombstoneRepository tombstoneRepository,
+                               ReportMapper reportMapper,
+                               JdbcTemplate jdbcTemplate,
+                               EntityManager entityManager,
+                               TransactionTemplate transactionTemplate) {
+        this.reportRepository = reportRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.reportMapper = reportMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Crea la fila del contador y versiona los reportes que todavía no
+     * tienen versión (los anteriores a esta columna).
+     */
+    @PostConstruct
+    public void initCounter() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer rows = jdbcTemplate.queryForObject(
+                    "select count(*) from report_change_counter", Integer.class);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("insert into report_change_counter (id, version, tombstones_purged_through) "
+                        + "values (1, 0, 0)");
+            }
+            long version = nextVersion();
+            int backfilled = jdbcTemplate.update(
+                    "update reports set row_version = ?, updated_at = coalesce(updated_at, ?) "
+                            + "where row_version is null",
+                    version, Timestamp.valueOf(LocalDateTime.now()));
+            if (backfilled > 0) {
+                log.info("[CHANGES] {} reportes sin versión quedaron en la versión {}", backfilled, version);
+            }
+        });
+    }
+
+    // ================== REGISTRO DE CAMBIOS ==================
+
+    @EventListener
+    public void onReportChanged(ReportChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Todas las escrituras publican dentro de su transacción; por si acaso
+            transactionTemplate.executeWithoutResult(status -> stamp(pendingFrom(event)));
+            return;
+        }
+        PendingChanges pending = currentPending();
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    // Las synchronizations son por transacción (se suspenden con REQUIRES_NEW)
+    private PendingChanges currentPending() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    private PendingChanges pendingFrom(ReportChangedEvent event) {
+        PendingChanges pending = new PendingChanges();
+        pending.add(event);
+        return pending;
+    }
+
+    private void stamp(PendingChanges pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Lo que Hibernate tenga pendiente va antes: el UPDATE de abajo es por JDBC
+        entityManager.flush();
+
+        // Marcado provisional, sin tocar todavía la fila del contador
+        long provisional = -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int marked = 0;
+
+        List<Long> saved = new ArrayList<>(pending.saved);
+        for (int from = 0; from < saved.size(); from += STAMP_BLOCK_SIZE) {
+            List<Long> block = saved.subList(from, Math.min(from + STAMP_BLOCK_SIZE, saved.size()));
+            List<Object> args = new ArrayList<>(block.size() + 2);
+            args.add(provisional);
+            args.add(now);
+            args.addAll(block);
+            marked += jdbcTemplate.update(
+                    "update reports set row_version = ?, updated_at = ? where id in ("
+                            + String.join(",", Collections.nCopies(block.size(), "?")) + ")",
+                    args.toArray());
+        }
+
+        for (LocalDateTime sweptAt : pending.sweeps) {
+            marked += jdbcTemplate.update(
+                    "update reports set row_version = ?, updated_at = ? where status_changed_at = ?",
+                    provisional, now, Timestamp.valueOf(sweptAt));
+        }
+
+        if (!pending.deleted.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into report_tombstones (report_id, row_version, deleted_at) values (?, ?, ?)",
+                    new ArrayList<>(pending.deleted), STAMP_BLOCK_SIZE,
+                    (ps, id) -> {
+                        ps.setLong(1, id);
+                        ps.setLong(2, provisional);
+                        ps.setTimestamp(3, now);
+                    });
+        }
+
+        if (marked == 0 && pending.deleted.isEmpty()) {
+            // Nada quedó marcado (p. ej. un barrido sin cambios): no hace falta versión
+            return;
+        }
+
+        // Desde acá hasta el commit la fila del contador queda bloqueada
+        long version = nextVersion();
+        if (marked > 0) {
+            jdbcTemplate.update("update reports set row_version = ? where row_version = ?", version, provisional);
+        }
+        if (!pending.deleted.isEmpty()) {
+            jdbcTemplate.update("update report_tombstones set row_version = ? where row_version = ?",
+                    version, provisional);
+        }
+    }
+
+    // Incrementa y bloquea la fila del contador hasta el fin de la transacción
+    private long nextVersion() {
+        jdbcTemplate.update("update report_change_counter set version = version + 1 where id = 1");
+        Long version = jdbcTemplate.queryForObject(
+                "select version from report_change_counter where id = 1", Long.class);
+        return version != null ? version : 0L;
+    }
+
+    // ================== CONSULTA ==================
+
+    /**
+     * Cambios posteriores a since (null = todo desde el principio, sin borrados).
+     *
+     * El token es "version" o, si la página terminó a mitad de una versión,
+     * "version.id" del último reporte devuelto.
+     */
+    @Transactional(readOnly = true)
+    public ReportChangesDto findChanges(String since, int limit) {
+        ChangeToken from = since == null || since.isBlank() ? ChangeToken.START : ChangeToken.parse(since);
+        if (from != ChangeToken.START && from.version() < tombstonesPurgedThrough()) {
+            throw new ResponseStatusException(
+                    HttpStatus.GONE,
+                    "El token es anterior a los borrados que se conservan; hay que recargar el listado completo"
+            );
+        }
+
+        int pageSize = ReportServiceImpl.pageSize(limit);
+        List<Report> rows = reportRepository.findChangedAfter(
+                from.version(), from.afterId(), PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Report> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        long lastVersion = page.isEmpty() ? from.version() : page.get(page.size() - 1).getRowVersion();
+        List<ReportTombstone> tombstones = from == ChangeToken.START
+                ? List.of()
+                : tombstoneRepository.findBetweenVersions(from.version(), hasMore ? lastVersion : Long.MAX_VALUE);
+
+        ChangeToken next;
+        if (hasMore) {
+            next = new ChangeToken(lastVersion, page.get(page.size() - 1).getId());
+        } else {
+            long maxVersion = tombstones.isEmpty()
+                    ? lastVersion
+                    : Math.max(lastVersion, tombstones.get(tombstones.size() - 1).getRowVersion());
+            next = page.isEmpty() && tombstones.isEmpty() ? from : ChangeToken.complete(maxVersion);
+        }
+
+        return new ReportChangesDto(
+                reportMapper.toDtoList(page),
+                tombstones.stream().map(ReportTombstone::getReportId).toList(),
+                next.format(),
+                hasMore
+        );
+    }
+
+    private long tombstonesPurgedThrough() {
+        Long purged = jdbcTemplate.queryForObject(
+                "select tombstones_purged_through from report_change_counter where id = 1", Long.class);
+        return purged != null ? purged : 0L;
+    }
+
+    // ================== LIMPIEZA ==================
+
+    /**
+     * Borra las marcas más viejas que la retención. Un cliente con un
+     * token anterior recibe 410 y debe recargar todo.
+     */
+    @Scheduled(cron = "${reports.changes.tombstone-purge-cron:0 20 0 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        Long version = tombstoneRepository.findMaxVersionDeletedBefore(before);
+        if (version == null) {
+            return;
+        }
+        int purged = tombstoneRepository.deleteUpToVersion(version);
+        jdbcTemplate.update(
+                "update report_change_counter set tombstones_purged_through = ? "
+                        + "where id = 1 and tombstones_purged_through < ?",
+                version, version);
+        log.info("[CHANGES] {} marcas de borrado purgadas (hasta la versión {})", purged, version);
+    }
+
+    /**
+     * Cambios acumulados en una transacción; se versionan antes del commit.
+     */
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final Set<Long> saved = new LinkedHashSet<>();
+        private final Set<Long> deleted = new LinkedHashSet<>();
+        private final List<LocalDateTime> sweeps = new ArrayList<>();
+
+        ReportChangeTracker owner() {
+            return ReportChangeTracker.this;
+        }
+
+        void add(ReportChangedEvent event) {
+            switch (event.getType()) {
+                case SAVED -> saved.addAll(event.getReportIds());
+                case DELETED -> {
+                    deleted.addAll(event.getReportIds());
+                    event.getReportIds().forEach(saved::remove);
+                }
+                case STATUS_REFRESHED -> sweeps.add(event.getChangedAt());
+            }
+        }
+
+        boolean isEmpty() {
+            return saved.isEmpty() && deleted.isEmpty() && sweeps.isEmpty();
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            stamp(this);
+        }
+    }
+
+    /**
+     * Posición en la secuencia de cambios; afterId = Long.MAX_VALUE
+     * significa que la versión ya se entregó completa.
+     */
+    private record ChangeToken(long version, long afterId) {
+
+        static final ChangeToken START = new ChangeToken(0, 0);
+
+        static ChangeToken complete(long version) {
+            return new ChangeToken(version, Long.MAX_VALUE);
+        }
+
+        static ChangeToken parse(String token) {
+            try {
+                int dot = token.indexOf('.');
+                if (dot < 0) {
+                    return complete(Long.parseLong(token.trim()));
+                }
+                return new ChangeToken(Long.parseLong(token.substring(0, dot).trim()),
+                        Long.parseLong(token.substring(dot + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token de cambios inválido: " + token);
+            }
+        }
+
+        String format() {
+            return afterId == Long.MAX_VALUE ? String.valueOf(version) : version + "." + afterId;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package llanogas.demo.modules.reports.service;
+
+import jakarta.persistence.EntityManager;
+import llanogas.demo.config.LongReadConnectionBudget;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.dto.ReportFilter;
+import llanogas.demo.modules.reports.exporter.ExportFormat;
+import llanogas.demo.modules.reports.exporter.ReportExportColumns;
+import llanogas.demo.modules.reports.exporter.ReportRowWriter;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de reportes a CSV o XLSX por streaming.
+ *
+ * Los reportes se leen con un cursor (ReportRepository.streamForExport) y
+ * cada fila se escribe y se suelta del contexto de persistencia, así la
+ * memoria no depende de cuántos reportes haya. El CSV empieza a salir con
+ * el encabezado; el XLSX se arma con SXSSF (ver XlsxReportRowWriter).
+ *
+ * Mientras dura, cada exportación ocupa una conexión del pool, por eso se
+ * limita cuántas corren a la vez: un tope propio y el cupo que comparte con
+ * el listado por streaming (LongReadConnectionBudget).
+ */
+@Service
+public class ReportExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportExportService.class);
+
+
+    private final ReportRepository reportRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+    private final LongReadConnectionBudget connectionBudget;
+
+    @Value("${reports.export.fetch-size:500}")
+    private int fetchSize;
+
+    public ReportExportService(ReportRepository reportRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${reports.export.max-concurrent:2}") int maxConcurrent,
+                               LongReadConnectionBudget connectionBudget) {
+        this.reportRepository = reportRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.connectionBudget = connectionBudget;
+    }
+
+    /**
+     * Valida el formato; el cuerpo se escribe después, fuera del hilo de la
+     * request. El turno se toma al empezar el cuerpo y se suelta al terminarlo,
+     * así no queda tomado si el cuerpo nunca llega a correr (cliente que se va,
+     * timeout). Sin turno libre responde 429 antes de escribir nada.
+     */
+    public ReportExport export(ReportFilter filter, String format) {
+        ExportFormat fmt = ExportFormat.parse(format);
+        String fileName = "reportes-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + fmt.getExtension();
+        StreamingResponseBody body = out -> {
+            acquireSlot();
+            try {
+                write(filter, fmt, out);
+            } finally {
+                connectionBudget.release();
+                slots.release();
+            }
+        };
+        return new ReportExport(fileName, fmt.getMediaType(), body);
+    }
+
+    // Turno propio y luego una conexión del cupo compartido
+    private void acquireSlot() {
+        if (!slots.tryAcquire()) {
+            throw tooMany();
+        }
+        if (!connectionBudget.tryAcquire()) {
+            slots.release();
+            throw tooMany();
+        }
+    }
+
+    private static ResponseStatusException tooMany() {
+        return new ResponseStatusException(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "Hay demasiadas exportaciones en curso; intenta de nuevo en unos momentos"
+        );
+    }
+
+    private void write(ReportFilter filter, ExportFormat fmt, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        try (ReportRowWriter writer = fmt.writerFor(out, "Reportes")) {
+            writer.writeHeader(ReportExportColumns.HEADERS);
+
+            Integer rows = readOnlyTransaction.execute(status -> {
+                int count = 0;
+                try (Stream<Report> reports = reportRepository.streamForExport(
+                        ReportSpecifications.matching(filter), Sort.by("id"), fetchSize)) {
+                    Iterator<Report> it = reports.iterator();
+                    while (it.hasNext()) {
+                        Report report = it.next();
+                        writer.writeRow(ReportExportColumns.values(report));
+                        // Con open-in-view el contexto es el de la request: no se acumulan entidades
+                        entityManager.detach(report);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    // Normalmente el cliente cortó la descarga
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+
+            writer.finish();
+            log.info("[EXPORT] {} reportes en {} en {} ms",
+                    rows, fmt.getExtension(), System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            log.warn("[EXPORT] Exportación {} interrumpida: {}", fmt.getExtension(), e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    public record ReportExport(String fileName, MediaType mediaType, StreamingResponseBody body) {
+    }
+}
@@ -0,0 +1,308 @@
+package llanogas.demo.modules.reports.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.importer.CsvReportRowReader;
+import llanogas.demo.modules.reports.importer.ReportImportColumns;
+import llanogas.demo.modules.reports.importer.ReportRowReader;
+import llanogas.demo.modules.reports.importer.XlsxReportRowReader;
+import llanogas.demo.modules.reports.mapper.ReportMapper;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación de reportes subiendo el archivo (XLSX o CSV) al backend.
+ *
+ * El archivo se guarda en un temporal y se recorre fila por fila; las filas
+ * válidas se persisten en bloques de tamaño fijo, cada bloque en su propia
+ * transacción, y luego se limpia el contexto de persistencia. Así la memoria
+ * usada no depende del tamaño del archivo.
+ */
+@Service
+public class ReportFileImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFileImportService.class);
+
+    // Para no devolver una respuesta gigante si el archivo viene todo mal
+    private static final int MAX_REPORTED_ERRORS = 200;
+
+    private final ReportRepository reportRepository;
+    private final ReportMapper reportMapper;
+    private final ReportUpsertService reportUpsertService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${reports.import.chunk-size:500}")
+    private int chunkSize;
+
+    public ReportFileImportService(ReportRepository reportRepository,
+                                   ReportMapper reportMapper,
+                                   ReportUpsertService reportUpsertService,
+                                   Validator validator,
+                                   TransactionTemplate transactionTemplate,
+                                   EntityManager entityManager,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.reportRepository = reportRepository;
+        this.reportMapper = reportMapper;
+        this.reportUpsertService = reportUpsertService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @param upsert si es true, las filas que ya existen (por llave natural) se
+     *               actualizan sólo si cambiaron, en vez de insertarse de nuevo
+     */
+    public ReportImportResultDto importFile(MultipartFile file, boolean upsert) {
+        Path tmp = storeTempFile(file);
+        try {
+            return importStoredFile(tmp, file.getOriginalFilename(), upsert, ImportProgress.NONE);
+        } finally {
+            deleteQuietly(tmp);
+        }
+    }
+
+    /**
+     * Valida el archivo subido y lo copia a un temporal propio. El multipart
+     * se borra al terminar la request, así que un job en segundo plano debe
+     * trabajar sobre esta copia (y borrarla con {@link #deleteQuietly}).
+     */
+    public Path storeTempFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El archivo está vacío");
+        }
+
+        String extension = extensionOf(file.getOriginalFilename());
+        readerFor(extension); // formato no soportado -> 400 antes de copiar nada
+
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile("reports-import-", "." + extension);
+            file.transferTo(tmp);
+            return tmp;
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "No se pudo leer el archivo: " + e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    /**
+     * Recorre un archivo ya guardado con {@link #storeTempFile} y persiste por bloques.
+     * Si se cancela a mitad, los bloques ya confirmados quedan guardados.
+     */
+    public ReportImportResultDto importStoredFile(Path file, String originalName,
+                                                  boolean upsert, ImportProgress progress) {
+        ReportRowReader reader = readerFor(extensionOf(file.getFileName().toString()));
+        ChunkedImport chunked = new ChunkedImport(upsert, progress);
+        try {
+            reader.read(file, chunked);
+            chunked.flush();
+        } catch (IOException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "No se pudo leer el archivo: " + e.getMessage(),
+                    e
+            );
+        }
+
+        ReportImportResultDto result = chunked.result;
+        log.info("[IMPORT] Archivo {}: {} filas, {} importadas, {} omitidas",
+                originalName, result.getTotalRows(),
+                result.getImported(), result.getSkipped());
+        return result;
+    }
+
+    /**
+     * Igual que el archivo pero con las filas ya convertidas (JSON del front).
+     * Cada fila se valida por separado: las inválidas se reportan y se omiten.
+     */
+    public ReportImportResultDto importRows(List<ReportImportDto> rows,
+                                            boolean upsert, ImportProgress progress) {
+        ChunkedImport chunked = new ChunkedImport(upsert, progress);
+        for (int i = 0; i < rows.size(); i++) {
+            chunked.accept(i + 1, rows.get(i));
+        }
+        chunked.flush();
+
+        ReportImportResultDto result = chunked.result;
+        log.info("[IMPORT] Lista JSON: {} filas, {} importadas, {} omitidas",
+                result.getTotalRows(), result.getImported(), result.getSkipped());
+        return result;
+    }
+
+    public static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[IMPORT] No se pudo borrar el temporal {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void persistChunk(List<ReportImportDto> chunk, boolean upsert, ReportImportResultDto result) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (upsert) {
+                reportUpsertService.upsertChunk(chunk, result);
+            } else {
+                List<Report> entities = chunk.stream()
+                        .map(reportMapper::fromImportDto)
+                        .toList();
+                reportRepository.saveAll(entities);
+                eventPublisher.publishEvent(ReportChangedEvent.saved(
+                        entities.stream().map(Report::getId).toList(), ReportChangedEvent.assigneesOf(entities)));
+                result.setInserted(result.getInserted() + entities.size());
+                result.setImported(result.getImported() + entities.size());
+            }
+            entityManager.flush();
+            // Con open-in-view el EntityManager vive toda la request: soltamos lo ya guardado
+            entityManager.clear();
+        });
+    }
+
+    private ReportRowReader readerFor(String extension) {
+        return switch (extension) {
+            case "xlsx" -> new XlsxReportRowReader();
+            case "csv" -> new CsvReportRowReader();
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Formato no soportado: se espera .xlsx o .csv"
+            );
+        };
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Acumula filas válidas hasta completar un bloque y lo persiste.
+     */
+    private class ChunkedImport implements ReportRowReader.RowHandler {
+
+        private final ReportImportResultDto result = new ReportImportResultDto();
+        private final List<ReportImportDto> buffer = new ArrayList<>(chunkSize);
+        private final boolean upsert;
+        private final ImportProgress progress;
+
+        ChunkedImport(boolean upsert, ImportProgress progress) {
+            this.upsert = upsert;
+            this.progress = progress;
+        }
+
+        @Override
+        public void onHeader(Collection<String> normalizedHeaders) {
+            List<String> missing = ReportImportColumns.missingColumns(normalizedHeaders);
+            if (!missing.isEmpty()) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "El archivo no tiene todas las columnas requeridas. Faltan: "
+                                + String.join(", ", missing)
+                );
+            }
+        }
+
+        @Override
+        public void onRow(int rowNumber, Map<String, String> values) {
+            accept(rowNumber, ReportImportColumns.toImportDto(values));
+        }
+
+        void accept(int rowNumber, ReportImportDto dto) {
+            // Se revisa por fila: al cancelar, el lector corta sin terminar el archivo
+            if (progress.isCancelled()) {
+                throw new ImportCancelledException();
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+
+            Set<ConstraintViolation<ReportImportDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                result.setSkipped(result.getSkipped() + 1);
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    String message = violations.stream()
+                            .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; "));
+                    result.getErrors().add(new ReportImportResultDto.RowError(rowNumber, message));
+                }
+                return;
+            }
+
+            buffer.add(dto);
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            persistChunk(buffer, upsert, result);
+            buffer.clear();
+            progress.onChunkCommitted(ReportImportResultDto.copyOf(result));
+        }
+    }
+
+    /**
+     * Seguimiento de una importación en curso (lo usan los jobs en segundo plano).
+     */
+    public interface ImportProgress {
+
+        ImportProgress NONE = new ImportProgress() {
+        };
+
+        default boolean isCancelled() {
+            return false;
+        }
+
+        // Se llama después de confirmar cada bloque, con una copia de los conteos
+        default void onChunkCommitted(ReportImportResultDto snapshot) {
+        }
+    }
+
+    /**
+     * Corta la lectura cuando se cancela la importación.
+     */
+    public static class ImportCancelledException extends RuntimeException {
+
+        public ImportCancelledException() {
+            super("Importación cancelada");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package llanogas.demo.modules.reports.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import llanogas.demo.config.LongReadConnectionBudget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listado completo de reportes escrito directo desde el ResultSet.
+ *
+ * Las filas se leen con un cursor JDBC (fetch size acotado) y cada una se
+ * escribe en el JsonGenerator de la respuesta con los mismos nombres y
+ * formatos que ReportDto, sin armar entidades ni listas de DTOs. El primer
+ * byte sale apenas llega la primera fila y la memoria no depende de cuántos
+ * reportes haya.
+ *
+ * Mientras se escribe, cada listado ocupa una conexión del pool; se limita
+ * cuántos van a la vez (propio y el cupo compartido con las exportaciones,
+ * LongReadConnectionBudget) y el resto espera su turno un rato antes del 503.
+ */
+@Service
+public class ReportJsonStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJsonStreamService.class);
+
+    // Mismo orden de campos que ReportDto
+    private static final String SELECT_SQL = """
+            select id, id_reporte, nombre_reporte, entidad_control, informacion_contenido, frecuencia,
+                   cargo_responsable_envio, responsable_elaboracion_nombre, responsable_elaboracion_cc,
+                   responsable_supervision_nombre, responsable_supervision_cc, telefono_responsable,
+                   correos_notificacion, email_responsable_envio, email_lider_seguimiento,
+                   gerencia_responsable, base_legal, fecha_inicio, fecha_limite_envio,
+                   responsable_elaboracion_user_id, supervisor_cumplimiento_user_id,
+                   status, status_changed_at, current_due_date, updated_at, row_version, version
+            from reports
+            """;
+
+    private static final String ALL_SQL = SELECT_SQL + " order by id";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore slots;
+    private final LongReadConnectionBudget connectionBudget;
+
+    @Value("${reports.stream.wait-ms:10000}")
+    private long waitMillis;
+
+    public ReportJsonStreamService(ObjectMapper objectMapper,
+                                   DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${reports.stream.fetch-size:500}") int fetchSize,
+                                   @Value("${reports.stream.max-concurrent:3}") int maxConcurrent,
+                                   LongReadConnectionBudget connectionBudget) {
+        this.objectMapper = objectMapper;
+        // Template propio: el fetch size sólo aplica a estas consultas
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // En PostgreSQL el cursor del fetch size necesita una transacción abierta
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+        this.connectionBudget = connectionBudget;
+    }
+
+    // GET /api/reports
+    public StreamingResponseBody streamAll() {
+        return out -> write(out, "todos", ALL_SQL);
+    }
+
+    private void write(OutputStream out, String label, String sql, Object... args) throws IOException {
+        acquireSlot();
+        long start = System.currentTimeMillis();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            // Cerrar el generador no debe cerrar la respuesta
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartArray();
+
+            Integer rows = readOnlyTransaction.execute(status -> {
+                int[] count = {0};
+                jdbcTemplate.query(sql, rs -> {
+                    try {
+                        writeRow(gen, rs);
+                        if (++count[0] == 1) {
+                            // La primera fila sale sin esperar a llenar el búfer
+                            gen.flush();
+                        }
+                    } catch (IOException e) {
+                        // Normalmente el cliente cortó la respuesta
+                        throw new UncheckedIOException(e);
+                    }
+                }, args);
+                return count[0];
+            });
+
+            gen.writeEndArray();
+            gen.flush();
+            log.debug("[STREAM] Listado {}: {} reportes en {} ms",
+                    label, rows, System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            log.warn("[STREAM] Listado {} interrumpido: {}", label, e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            connectionBudget.release();
+            slots.release();
+        }
+    }
+
+    // Turno propio y luego una conexión del cupo compartido, dentro del mismo plazo
+    private void acquireSlot() {
+        boolean slot = false;
+        boolean acquired = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        try {
+            slot = slots.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+            acquired = slot && connectionBudget.tryAcquire(
+                    Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            if (slot) {
+                slots.release();
+            }
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiados listados en curso; intenta de nuevo en unos momentos"
+            );
+        }
+    }
+
+    private static void writeRow(JsonGenerator gen, ResultSet rs) throws IOException, SQLException {
+        gen.writeStartObject();
+        writeLong(gen, "id", rs, 1);
+        gen.writeStringField("idReporte", rs.getString(2));
+        gen.writeStringField("nombreReporte", rs.getString(3));
+        gen.writeStringField("entidadControl", rs.getString(4));
+        gen.writeStringField("informacionContenido", rs.getString(5));
+        gen.writeStringField("frecuencia", rs.getString(6));
+        gen.writeStringField("cargoResponsableEnvio", rs.getString(7));
+        gen.writeStringField("responsableElaboracionName", rs.getString(8));
+        gen.writeStringField("responsableElaboracionCC", rs.getString(9));
+        gen.writeStringField("responsableSupervisionName", rs.getString(10));
+        gen.writeStringField("responsableSupervisionCC", rs.getString(11));
+        gen.writeStringField("telefonoResponsable", rs.getString(12));
+        gen.writeStringField("correosNotificacion", rs.getString(13));
+        gen.writeStringField("emailResponsableEnvio", rs.getString(14));
+        gen.writeStringField("emailLiderSeguimiento", rs.getString(15));
+        gen.writeStringField("gerenciaResponsable", rs.getString(16));
+        gen.writeStringField("baseLegal", rs.getString(17));
+        // Fechas con el serializador del ObjectMapper: mismo formato que ReportDto
+        gen.writeObjectField("fechaInicio", rs.getObject(18, LocalDate.class));
+        gen.writeObjectField("fechaLimiteEnvio", rs.getObject(19, LocalDate.class));
+        writeLong(gen, "responsableElaboracionUserId", rs, 20);
+        writeLong(gen, "supervisorCumplimientoUserId", rs, 21);
+        gen.writeStringField("status", rs.getString(22));
+        gen.writeObjectField("statusChangedAt", rs.getObject(23, LocalDateTime.class));
+        gen.writeObjectField("currentDueDate", rs.getObject(24, LocalDate.class));
+        gen.writeObjectField("updatedAt", rs.getObject(25, LocalDateTime.class));
+        writeLong(gen, "rowVersion", rs, 26);
+        writeLong(gen, "version", rs, 27);
+        gen.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator gen, String field, ResultSet rs, int column)
+            throws IOException, SQLException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            gen.writeNullField(field);
+        } else {
+            gen.writeNumberField(field, value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package llanogas.demo.modules.reports.service;
+
+import llanogas.demo.modules.reports.cache.ReportReadCache;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportMyTasksDto;
+import llanogas.demo.modules.reports.mapper.ReportMapper;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Mis tareas" agrupadas por estado.
+ *
+ * La consulta es el UNION ALL de ReportRepository.findAssignedTo (una rama
+ * por columna de asignación, cada una con su índice). El resultado queda en
+ * ReportReadCache por usuario; ahí se invalida sólo para los usuarios a los
+ * que les cambió algún reporte.
+ */
+@Service
+public class ReportMyTasksService {
+
+    private static final Comparator<ReportDto> BY_DUE_DATE = Comparator
+            .comparing((ReportDto r) -> r.getCurrentDueDate() != null ? r.getCurrentDueDate()
+                            : r.getFechaInicio() != null ? r.getFechaInicio() : r.getFechaLimiteEnvio(),
+                    Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ReportDto::getId);
+
+    private final ReportRepository reportRepository;
+    private final ReportMapper reportMapper;
+    private final ReportStatusService reportStatusService;
+    private final ReportReadCache reportReadCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportMyTasksService(ReportRepository reportRepository,
+                                ReportMapper reportMapper,
+                                ReportStatusService reportStatusService,
+                                ReportReadCache reportReadCache,
+                                PlatformTransactionManager transactionManager) {
+        this.reportRepository = reportRepository;
+        this.reportMapper = reportMapper;
+        this.reportStatusService = reportStatusService;
+        this.reportReadCache = reportReadCache;
+        // Sin transacción en los aciertos: sólo se pide conexión si hay que consultar
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ReportMyTasksDto findForUser(Long userId) {
+        return reportReadCache.tasks(userId, () -> readOnlyTransaction.execute(status -> load(userId)));
+    }
+
+    private ReportMyTasksDto load(Long userId) {
+        List<Report> assigned = reportRepository.findAssignedTo(userId);
+        LocalDate today = LocalDate.now();
+
+        Map<ReportStatus, List<ReportDto>> byStatus = new EnumMap<>(ReportStatus.class);
+        for (Report report : assigned) {
+            // Filas viejas sin estado guardado: se calcula al vuelo
+            ReportStatus status = report.getStatus() != null
+                    ? report.getStatus()
+                    : reportStatusService.calculateStatus(report, today);
+            byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(reportMapper.toDto(report));
+        }
+
+        ReportMyTasksDto tasks = new ReportMyTasksDto(userId);
+        byStatus.forEach((status, reports) -> {
+            reports.sort(BY_DUE_DATE);
+            tasks.addGroup(status, reports);
+        });
+        return tasks;
+    }
+}
@@ -0,0 +1,347 @@
+package llanogas.demo.modules.reports.service;
+
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportOccurrence;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportCalendarDayDto;
+import llanogas.demo.modules.reports.dto.ReportCalendarEntryDto;
+import llanogas.demo.modules.reports.dto.ReportOccurrenceDto;
+import llanogas.demo.modules.reports.recurrence.RecurrenceRule;
+import llanogas.demo.modules.reports.repository.ReportOccurrenceRepository;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportScheduleView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.http.HttpStatus;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Motor de recurrencia: materializa en report_occurrences los períodos de
+ * cada reporte según su frecuencia, dentro de una ventana móvil
+ * (hoy - lookback .. hoy + horizon).
+ *
+ * - Al guardar un reporte (ReportChangedEvent) se reconcilian sus períodos
+ *   de la ventana: se agregan los que faltan, se corrigen fechas y se borran
+ *   los que ya no corresponden (salvo los que tienen acuse). Esto corre ya
+ *   confirmado el cambio, en reportOccurrenceExecutor y por bloques de 500
+ *   reportes, cada uno en su propia transacción: una importación grande no
+ *   carga los períodos en su transacción ni en su contexto de persistencia.
+ * - Una vez al día se corre la ventana para todos los reportes y se
+ *   actualiza el estado de los períodos que vencieron.
+ * - Lo anterior a la ventana es historial y no se toca. Como la ventana
+ *   avanza día a día, el historial se va acumulando solo; el lookback sólo
+ *   define cuánto pasado se genera la primera vez.
+ *
+ * La fecha ancla es la de ReportStatusService.resolveAnchorDate
+ * (fechaInicio y, si no hay, fechaLimiteEnvio).
+ */
+@Service
+@Transactional
+public class ReportOccurrenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportOccurrenceService.class);
+
+    // Igual que la ventana de gracia de ReportStatusService
+    private static final int GRACE_DAYS = 2;
+
+    private static final int SYNC_BLOCK_SIZE = 500;
+
+    // Rango máximo del calendario (una vista anual como mucho)
+    private static final int MAX_CALENDAR_DAYS = 366;
+
+    private final ReportRepository reportRepository;
+    private final ReportOccurrenceRepository occurrenceRepository;
+    private final ReportStatusService reportStatusService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${reports.occurrences.lookback-months:3}")
+    private int lookbackMonths;
+
+    @Value("${reports.occurrences.horizon-months:12}")
+    private int horizonMonths;
+
+    public ReportOccurrenceService(ReportRepository reportRepository,
+                                   ReportOccurrenceRepository occurrenceRepository,
+                                   ReportStatusService reportStatusService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Qualifier("reportOccurrenceExecutor") ThreadPoolTaskExecutor executor) {
+        this.reportRepository = reportRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.reportStatusService = reportStatusService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.getReportIds().isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(event.getReportIds());
+        boolean deleted = event.getType() == ReportChangedEvent.Type.DELETED;
+        executor.execute(() -> sync(ids, deleted));
+    }
+
+    private void sync(List<Long> ids, boolean deleted) {
+        LocalDate today = LocalDate.now();
+        try {
+            // Por bloques para no armar un IN gigante en importaciones masivas
+            for (int from = 0; from < ids.size(); from += SYNC_BLOCK_SIZE) {
+                List<Long> block = ids.subList(from, Math.min(from + SYNC_BLOCK_SIZE, ids.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (deleted) {
+                        occurrenceRepository.deleteByReportIds(block);
+                    } else {
+                        syncReports(reportRepository.findScheduleByIdIn(block), today);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            // El refresco diario vuelve a reconciliar todos los reportes
+            log.error("[OCCURRENCES] No se pudieron reconciliar {} reportes", ids.size(), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportOccurrenceDto> findForReport(Long reportId, LocalDate from, LocalDate to) {
+        return occurrenceRepository
+                .findByReportIdAndDueDateBetweenOrderByDueDateAsc(reportId, from, to)
+                .stream()
+                .map(ReportOccurrenceDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Vencimientos entre from y to (inclusive) agrupados por día, con conteo
+     * por estado. Una sola consulta por rango de due_date; sólo cubre lo que
+     * está materializado (la ventana móvil y el historial).
+     */
+    @Transactional(readOnly = true)
+    public List<ReportCalendarDayDto> findCalendar(LocalDate from, LocalDate to, Long userId) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas inválido");
+        }
+        if (from.plusDays(MAX_CALENDAR_DAYS).isBefore(to)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "El rango no puede superar " + MAX_CALENDAR_DAYS + " días"
+            );
+        }
+
+        List<ReportCalendarEntryDto> entries = userId != null
+                ? occurrenceRepository.findCalendarForUser(from, to, userId)
+                : occurrenceRepository.findCalendar(from, to);
+
+        // Vienen ordenadas por fecha: el LinkedHashMap conserva el orden
+        Map<LocalDate, ReportCalendarDayDto> days = new LinkedHashMap<>();
+        for (ReportCalendarEntryDto entry : entries) {
+            days.computeIfAbsent(entry.getDueDate(), ReportCalendarDayDto::new).add(entry);
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    // ================== ACUSES ==================
+
+    /**
+     * Asocia un acuse a un período del reporte y recalcula su estado.
+     * Sin occurrenceId se toma el período más antiguo ya vencido sin acuse
+     * y, si no hay, el próximo por vencer. Si los períodos del reporte
+     * todavía no se materializaron (la reconciliación corre después del
+     * commit) se materializan acá.
+     *
+     * @return id del período asociado, o null si el reporte no tiene períodos
+     */
+    public Long registerAcuse(Long reportId, Long occurrenceId, LocalDate acuseDate) {
+        if (occurrenceId == null && !occurrenceRepository.existsByReportId(reportId)) {
+            syncReports(reportRepository.findScheduleByIdIn(List.of(reportId)), LocalDate.now());
+        }
+        ReportOccurrence occurrence;
+        if (occurrenceId != null) {
+            occurrence = occurrenceRepository.findById(occurrenceId)
+                    .filter(o -> o.getReportId().equals(reportId))
+                    .orElseThrow(() -> new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST,
+                            "El período " + occurrenceId + " no pertenece al reporte " + reportId
+                    ));
+        } else {
+            occurrence = occurrenceRepository
+                    .findFirstByReportIdAndAcuseDateIsNullAndDueDateLessThanEqualOrderByDueDateAsc(reportId, acuseDate)
+                    .or(() -> occurrenceRepository
+                            .findFirstByReportIdAndAcuseDateIsNullAndDueDateGreaterThanOrderByDueDateAsc(reportId, acuseDate))
+                    .orElse(null);
+        }
+        if (occurrence == null) {
+            return null;
+        }
+
+        // Si el período ya tenía acuse, cuenta el primero
+        if (occurrence.getAcuseDate() == null || acuseDate.isBefore(occurrence.getAcuseDate())) {
+            occurrence.setAcuseDate(acuseDate);
+        }
+        refreshStatus(occurrence, LocalDate.now());
+        return occurrence.getId();
+    }
+
+    /**
+     * Deja en el período la fecha de su primer acuse (null si ya no le queda ninguno).
+     */
+    public void updateAcuse(Long occurrenceId, LocalDate firstAcuseDate) {
+        occurrenceRepository.findById(occurrenceId).ifPresent(occurrence -> {
+            occurrence.setAcuseDate(firstAcuseDate);
+            refreshStatus(occurrence, LocalDate.now());
+        });
+    }
+
+    // ================== MANTENIMIENTO DIARIO ==================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshOnStartup() {
+        refreshAll();
+    }
+
+    // Después del barrido de Report.status (00:05)
+    @Scheduled(cron = "${reports.occurrences.refresh-cron:0 10 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledRefresh() {
+        refreshAll();
+    }
+
+    /**
+     * Corre la ventana para todos los reportes, de a bloques de 500 y cada
+     * bloque en su propia transacción, y luego actualiza estados.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refreshAll() {
+        LocalDate today = LocalDate.now();
+        long lastId = 0L;
+        int reports = 0;
+
+        while (true) {
+            long from = lastId;
+            List<ReportScheduleView> block = transactionTemplate.execute(status -> {
+                List<ReportScheduleView> views = reportRepository.findTop500ByIdGreaterThanOrderByIdAsc(from);
+                syncReports(views, today);
+                return views;
+            });
+            if (block == null || block.isEmpty()) {
+                break;
+            }
+            reports += block.size();
+            lastId = block.get(block.size() - 1).getId();
+        }
+
+        Integer changed = transactionTemplate.execute(status -> sweepStatuses(today));
+        log.info("[OCCURRENCES] Ventana actualizada para {} reportes, {} períodos cambiaron de estado",
+                reports, changed);
+    }
+
+    /**
+     * Transiciones por paso del tiempo de los períodos sin acuse.
+     * Al insertar ya quedan con su estado, así que sólo se avanza.
+     */
+    public int sweepStatuses(LocalDate today) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate graceStart = today.minusDays(GRACE_DAYS);
+        return occurrenceRepository.markStatusDueBefore(ReportStatus.VENCIDO, graceStart, now)
+                + occurrenceRepository.markStatusDueBetween(ReportStatus.PENDIENTE, graceStart, today, now);
+    }
+
+    // ================== RECONCILIACIÓN ==================
+
+    private void syncReports(List<ReportScheduleView> reports, LocalDate today) {
+        if (reports.isEmpty()) {
+            return;
+        }
+        LocalDate windowStart = today.minusMonths(lookbackMonths);
+        LocalDate windowEnd = today.plusMonths(horizonMonths);
+
+        Map<Long, Map<Integer, ReportOccurrence>> existing = new HashMap<>();
+        Collection<Long> ids = reports.stream().map(ReportScheduleView::getId).toList();
+        // Se traen también los históricos: el índice de período es único por reporte
+        for (ReportOccurrence occurrence : occurrenceRepository.findByReportIdIn(ids)) {
+            existing.computeIfAbsent(occurrence.getReportId(), k -> new HashMap<>())
+                    .put(occurrence.getPeriodIndex(), occurrence);
+        }
+
+        List<ReportOccurrence> toSave = new ArrayList<>();
+        List<ReportOccurrence> toDelete = new ArrayList<>();
+
+        for (ReportScheduleView report : reports) {
+            Map<Integer, ReportOccurrence> current = existing.getOrDefault(report.getId(), Map.of());
+            Map<Integer, ReportOccurrence> pending = new HashMap<>(current);
+
+            LocalDate anchor = report.getFechaInicio() != null
+                    ? report.getFechaInicio()
+                    : report.getFechaLimiteEnvio();
+
+            if (anchor != null) {
+                RecurrenceRule rule = RecurrenceRule.parse(report.getFrecuencia());
+                for (int index = rule.firstIndexOnOrAfter(anchor, windowStart); ; index++) {
+                    LocalDate due = rule.dueDate(anchor, index);
+                    if (due.isAfter(windowEnd)) {
+                        break;
+                    }
+                    ReportOccurrence occurrence = pending.remove(index);
+                    if (occurrence == null) {
+                        occurrence = new ReportOccurrence();
+                        occurrence.setReportId(report.getId());
+                        occurrence.setPeriodIndex(index);
+                    } else if (due.equals(occurrence.getDueDate())
+                            && rule.periodLabel(due).equals(occurrence.getPeriodLabel())) {
+                        continue; // sin cambios
+                    }
+                    occurrence.setDueDate(due);
+                    occurrence.setPeriodLabel(rule.periodLabel(due));
+                    refreshStatus(occurrence, today);
+                    toSave.add(occurrence);
+                }
+            }
+
+            // Lo que quedó en la ventana ya no corresponde a la regla actual;
+            // el historial (antes de la ventana) y lo que tiene acuse se conserva
+            pending.values().stream()
+                    .filter(o -> o.getAcuseDate() == null && !o.getDueDate().isBefore(windowStart))
+                    .forEach(toDelete::add);
+        }
+
+        if (!toDelete.isEmpty()) {
+            occurrenceRepository.deleteAllInBatch(toDelete);
+        }
+        if (!toSave.isEmpty()) {
+            occurrenceRepository.saveAll(toSave);
+        }
+    }
+
+    private void refreshStatus(ReportOccurrence occurrence, LocalDate today) {
+        ReportStatus status = reportStatusService.calculateStatus(
+                occurrence.getDueDate(), occurrence.getAcuseDate(), today);
+        if (status != occurrence.getStatus()) {
+            occurrence.setStatus(status);
+            occurrence.setStatusChangedAt(LocalDateTime.now());
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package llanogas.demo.modules.reports.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
 import llanogas.demo.modules.reports.dto.ReportCreateDto;
 import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
 import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.dto.ReportSummaryDto;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -10,13 +16,35 @@ public interface ReportService {
 
     List<ReportDto> importReports(List<ReportImportDto> importDtos);
 
+    ReportImportResultDto upsertReports(List<ReportImportDto> importDtos);
+
     ReportDto createReport(ReportCreateDto createDto);
 
     List<ReportDto> findAll();
 
+    CursorPageDto<ReportDto> findPage(ReportFilter filter, Long cursor, int limit, Sort.Direction direction);
+
+    List<ReportSummaryDto> findSummaries(ReportFilter filter);
+
+    CursorPageDto<ReportSummaryDto> findSummaryPage(ReportFilter filter, Long cursor, int limit, Sort.Direction direction);
+
+    ReportDto findById(Long id);
+
     void deleteReport(Long id);
 
     ReportDto updateReport(Long id, ReportCreateDto dto);
 
-    List<ReportDto> findByAssignedUser(Long userId);
+    /**
+     * Edición parcial con JSON Merge Patch.
+     *
+     * @param expectedVersion versión que el cliente leyó (If-Match); null = sin condición.
+     *                        Si no coincide: 412. Si otro guardó en el medio: 409.
+     */
+    ReportDto patchReport(Long id, JsonNode patch, Long expectedVersion);
+
+    /**
+     * ETag de los listados de reportes; cambia con cada escritura.
+     * No toca la base.
+     */
+    String listETag();
 }
@@ -1,29 +1,58 @@
 package llanogas.demo.modules.reports.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import llanogas.demo.modules.reports.cache.ReportReadCache;
 import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
 import llanogas.demo.modules.reports.dto.ReportCreateDto;
 import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
 import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.dto.ReportSummaryDto;
 import llanogas.demo.modules.reports.mapper.ReportMapper;
 import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.repository.ReportSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class ReportServiceImpl implements ReportService {
 
+    // Tope de filas por página, para que nadie pida "todo" vía ?limit=
+    static final int MAX_PAGE_SIZE = 500;
+
+    // Filas por bloque en el upsert (una consulta de llaves por bloque)
+    static final int UPSERT_CHUNK_SIZE = 500;
+
     private final ReportRepository reportRepository;
     private final ReportMapper reportMapper;
+    private final ReportUpsertService reportUpsertService;
+    private final ReportReadCache reportReadCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReportServiceImpl(ReportRepository reportRepository,
-                             ReportMapper reportMapper) {
+                             ReportMapper reportMapper,
+                             ReportUpsertService reportUpsertService,
+                             ReportReadCache reportReadCache,
+                             ApplicationEventPublisher eventPublisher) {
         this.reportRepository = reportRepository;
         this.reportMapper = reportMapper;
+        this.reportUpsertService = reportUpsertService;
+        this.reportReadCache = reportReadCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -32,13 +61,29 @@ public class ReportServiceImpl implements ReportService {
                 .map(reportMapper::fromImportDto)
                 .toList();
         List<Report> saved = reportRepository.saveAll(entities);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(
+                saved.stream().map(Report::getId).toList(), ReportChangedEvent.assigneesOf(saved)));
         return reportMapper.toDtoList(saved);
     }
 
+    @Override
+    public ReportImportResultDto upsertReports(List<ReportImportDto> importDtos) {
+        ReportImportResultDto result = new ReportImportResultDto();
+        result.setTotalRows(importDtos.size());
+
+        for (int from = 0; from < importDtos.size(); from += UPSERT_CHUNK_SIZE) {
+            int to = Math.min(from + UPSERT_CHUNK_SIZE, importDtos.size());
+            reportUpsertService.upsertChunk(importDtos.subList(from, to), result);
+        }
+        return result;
+    }
+
     @Override
     public ReportDto createReport(ReportCreateDto createDto) {
         Report entity = reportMapper.fromCreateDto(createDto);
         Report saved = reportRepository.save(entity);
+        eventPublisher.publishEvent(ReportChangedEvent.saved(
+                List.of(saved.getId()), ReportChangedEvent.assigneesOf(List.of(saved))));
         return reportMapper.toDto(saved);
     }
 
@@ -48,6 +93,84 @@ public class ReportServiceImpl implements ReportService {
         return reportMapper.toDtoList(reportRepository.findAll());
     }
 
+    // Las lecturas cacheadas van sin transacción propia (SUPPORTS): en un
+    // acierto no se pide conexión al pool; al cargar, el repositorio abre la suya
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageDto<ReportDto> findPage(ReportFilter filter,
+                                             Long cursor,
+                                             int limit,
+                                             Sort.Direction direction) {
+        int pageSize = pageSize(limit);
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.ASC;
+        return reportReadCache.page(filter, cursor, pageSize, dir, () -> loadPage(filter, cursor, pageSize, dir));
+    }
+
+    private CursorPageDto<ReportDto> loadPage(ReportFilter filter, Long cursor, int pageSize, Sort.Direction dir) {
+
+        // Pedimos una fila de más para saber si hay siguiente página sin hacer COUNT(*).
+        // El orden es sólo por id, que es lo que sigue el cursor
+        List<Report> rows = reportRepository.findBy(
+                ReportSpecifications.matching(filter)
+                        .and(ReportSpecifications.afterCursor(cursor, dir)),
+                q -> q.sortBy(Sort.by(dir, "id")).limit(pageSize + 1).all()
+        );
+
+        CursorPageDto<Report> page = toPage(rows, pageSize, Report::getId);
+        return new CursorPageDto<>(reportMapper.toDtoList(page.getItems()),
+                page.getNextCursor(), page.isHasMore(), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportSummaryDto> findSummaries(ReportFilter filter) {
+        return reportRepository.findSummaries(
+                ReportSpecifications.matching(filter), Sort.by("id"), 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReportSummaryDto> findSummaryPage(ReportFilter filter,
+                                                           Long cursor,
+                                                           int limit,
+                                                           Sort.Direction direction) {
+        int pageSize = pageSize(limit);
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.ASC;
+
+        List<ReportSummaryDto> rows = reportRepository.findSummaries(
+                ReportSpecifications.matching(filter)
+                        .and(ReportSpecifications.afterCursor(cursor, dir)),
+                Sort.by(dir, "id"),
+                pageSize + 1
+        );
+        return toPage(rows, pageSize, ReportSummaryDto::getId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ReportDto findById(Long id) {
+        return reportReadCache.report(id, () -> reportMapper.toDto(reportRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Reporte no encontrado con id: " + id
+                ))));
+    }
+
+    static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // rows trae pageSize + 1 filas como máximo: la sobrante sólo indica que hay más
+    private static <T> CursorPageDto<T> toPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore
+                ? String.valueOf(idOf.apply(page.get(page.size() - 1)))
+                : null;
+        return new CursorPageDto<>(page, nextCursor, hasMore, pageSize);
+    }
+
     @Override
     public void deleteReport(Long id) {
         if (!reportRepository.existsById(id)) {
@@ -57,6 +180,7 @@ public class ReportServiceImpl implements ReportService {
             );
         }
         reportRepository.deleteById(id);
+        eventPublisher.publishEvent(ReportChangedEvent.deleted(List.of(id)));
     }
 
 
@@ -68,21 +192,65 @@ public class ReportServiceImpl implements ReportService {
                         "Reporte no encontrado con id: " + id
                 ));
 
+        // Los de antes también: si se le quitó el reporte, a ese usuario le cambia
+        Set<Long> assignees = ReportChangedEvent.assigneesOf(List.of(entity));
+
         // delegamos la lógica de mapeo al mapper
         reportMapper.updateEntityFromCreateDto(dto, entity);
 
-        Report saved = reportRepository.save(entity);
+        Report saved = saveOrConflict(entity);
+        assignees.addAll(ReportChangedEvent.assigneesOf(List.of(saved)));
+        eventPublisher.publishEvent(ReportChangedEvent.saved(List.of(saved.getId()), assignees));
         return reportMapper.toDto(saved);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<ReportDto> findByAssignedUser(Long userId) {
-        List<Report> assigned = reportRepository
-                .findByResponsableElaboracionUserIdOrSupervisorCumplimientoUserId(
-                        userId,
-                        userId
-                );
-        return reportMapper.toDtoList(assigned);
+    public ReportDto patchReport(Long id, JsonNode patch, Long expectedVersion) {
+        Report entity = reportRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Reporte no encontrado con id: " + id
+                ));
+        if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+            throw new ResponseStatusException(
+                    HttpStatus.PRECONDITION_FAILED,
+                    "El reporte cambió desde que se leyó (versión actual: " + entity.getVersion() + ")"
+            );
+        }
+
+        Long versionBefore = entity.getVersion();
+        Set<Long> assignees = ReportChangedEvent.assigneesOf(List.of(entity));
+        reportMapper.applyMergePatch(patch, entity);
+        Report saved = saveOrConflict(entity);
+
+        // Si el patch no cambió nada no hubo UPDATE ni cambia la versión
+        if (!versionBefore.equals(saved.getVersion())) {
+            assignees.addAll(ReportChangedEvent.assigneesOf(List.of(saved)));
+            eventPublisher.publishEvent(ReportChangedEvent.saved(List.of(saved.getId()), assignees));
+        }
+        return reportMapper.toDto(saved);
+    }
+
+    // Con @Version el UPDATE lleva "where version = ?": si otro guardó
+    // primero no encuentra la fila y la edición se rechaza
+    private Report saveOrConflict(Report entity) {
+        try {
+            return reportRepository.saveAndFlush(entity);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Otro usuario modificó el reporte " + entity.getId() + " al mismo tiempo; vuelve a cargarlo",
+                    e
+            );
+        }
+    }
+
+    // Sin transacción: el 304 se responde sin pedir conexión al pool
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String listETag() {
+        // Cualquier escritura de reportes (alta, edición, importación, adjuntos,
+        // barrido de estados, u otra instancia) lo cambia al confirmar
+        return reportReadCache.listETag();
     }
 }
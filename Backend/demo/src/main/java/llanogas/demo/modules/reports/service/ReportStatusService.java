@@ -1,11 +1,20 @@
 package llanogas.demo.modules.reports.service;
 
 import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportOccurrence;
 import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.recurrence.RecurrenceRule;
+import llanogas.demo.modules.reports.repository.ReportOccurrenceRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio que replica en backend la misma lógica de estado
@@ -13,17 +22,40 @@ import java.time.temporal.ChronoUnit;
  *
  * - "Dentro del plazo"  -> hoy <= due y SIN acuse
  * - "Pendiente"         -> due < hoy <= due+2 días y SIN acuse
- * - "Vencido"           -> hoy > due+2 días y SIN acuse
+ * - "Vencido"           -> hoy > due+2 días y SIN acuse, o acuse > due+2
+ * - "Enviado a tiempo"  -> acuse <= due
+ * - "Enviado tarde"     -> due < acuse <= due+2 días
  *
  * Importante:
- *  - La "fecha de vencimiento" se resuelve primero con fechaInicio,
- *    y si está vacía, se usa fechaLimiteEnvio (igual que el front
- *    en MyTasks.jsx ahora mismo).
- *  - De momento el backend no mira acuses todavía; asume que no existen.
+ *  - Las reglas se aplican al período vigente del reporte, no al ancla: la
+ *    fecha ancla es fechaInicio (o fechaLimiteEnvio si está vacía) y la
+ *    frecuencia da los vencimientos siguientes (RecurrenceRule).
+ *  - El acuse es el del período (ReportOccurrence.acuseDate): el acuse de
+ *    marzo no cuenta para abril.
+ *  - Período vigente: el más antiguo de la ventana (hoy - lookback) que ya
+ *    venció sin acuse y, si no hay, el primero que todavía no salió de la
+ *    ventana de gracia. Un período con acuse sigue vigente hasta vencer su
+ *    gracia, para que se vea "Enviado a tiempo".
+ *  - El resultado se guarda en Report.status, junto con el vencimiento y el
+ *    acuse del período vigente (currentDueDate / currentAcuseDate), que son
+ *    los que usa ReportStatusSweeper para las transiciones por paso del tiempo.
  */
 @Service
 public class ReportStatusService {
 
+    // Ventana de gracia después del vencimiento (igual que el front)
+    private static final int GRACE_DAYS = 2;
+
+    private final ReportOccurrenceRepository occurrenceRepository;
+
+    // Misma ventana que materializa ReportOccurrenceService
+    @Value("${reports.occurrences.lookback-months:3}")
+    private int lookbackMonths;
+
+    public ReportStatusService(ReportOccurrenceRepository occurrenceRepository) {
+        this.occurrenceRepository = occurrenceRepository;
+    }
+
     /**
      * Calcula el estado a la fecha de hoy.
      */
@@ -39,13 +71,35 @@ public class ReportStatusService {
         if (report == null) {
             return ReportStatus.DENTRO_DEL_PLAZO;
         }
+        return calculateStatus(resolveDueDate(report), report.getCurrentAcuseDate(), today);
+    }
+
+    /**
+     * Regla completa: con acuse manda la fecha del acuse, sin acuse la de hoy.
+     */
+    public ReportStatus calculateStatus(LocalDate due, LocalDate acuseDate, LocalDate today) {
+        if (acuseDate == null) {
+            return calculateStatus(due, today);
+        }
+        if (due == null || !acuseDate.isAfter(due)) {
+            return ReportStatus.ENVIADO_A_TIEMPO;
+        }
+        if (!acuseDate.isAfter(due.plusDays(2))) {
+            return ReportStatus.ENVIADO_TARDE;
+        }
+        // Llegó después de la ventana de gracia
+        return ReportStatus.VENCIDO;
+    }
 
+    /**
+     * Regla sin acuse a partir de la fecha de vencimiento ya resuelta
+     * (la usa la regla completa cuando no hay acuse).
+     */
+    public ReportStatus calculateStatus(LocalDate due, LocalDate today) {
         if (today == null) {
             today = LocalDate.now();
         }
 
-        LocalDate due = resolveDueDate(report);
-
         // Si no hay fecha de vencimiento, lo consideramos dentro del plazo
         if (due == null) {
             return ReportStatus.DENTRO_DEL_PLAZO;
@@ -54,7 +108,7 @@ public class ReportStatusService {
         // Ventana de gracia de 2 días (igual que el front)
         LocalDate extended = due.plusDays(2);
 
-        // Sin acuse en backend todavía, sólo comparamos hoy vs due/extended
+        // Sin acuse, sólo comparamos hoy vs due/extended
         if (!today.isAfter(due)) {
             // hoy <= due
             return ReportStatus.DENTRO_DEL_PLAZO;
@@ -69,13 +123,98 @@ public class ReportStatusService {
         return ReportStatus.VENCIDO;
     }
 
+    // ================== PERÍODO VIGENTE ==================
+
+    /**
+     * Vencimiento y acuse del período vigente (ver la cabecera). Sin fecha
+     * ancla no hay período y ambos quedan en null.
+     *
+     * @param acuses acuse de cada período con acuse, por periodIndex
+     */
+    public CurrentPeriod currentPeriod(LocalDate anchor, String frecuencia,
+                                       Map<Integer, LocalDate> acuses, LocalDate today) {
+        if (anchor == null) {
+            return CurrentPeriod.NONE;
+        }
+        if (today == null) {
+            today = LocalDate.now();
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(frecuencia);
+        LocalDate graceStart = today.minusDays(GRACE_DAYS);
+        for (int index = rule.firstIndexOnOrAfter(anchor, windowStart(today)); ; index++) {
+            LocalDate due = rule.dueDate(anchor, index);
+            LocalDate acuse = acuses.get(index);
+            // Vencido sin acuse: sigue siendo el vigente hasta que llegue el acuse
+            if (acuse == null && due.isBefore(today)) {
+                return new CurrentPeriod(due, null);
+            }
+            if (!due.isBefore(graceStart)) {
+                return new CurrentPeriod(due, acuse);
+            }
+        }
+    }
+
+    /**
+     * Inicio de la ventana que mira currentPeriod: los períodos anteriores
+     * sin acuse ya no cuentan para el estado del reporte (quedan en el
+     * historial del calendario).
+     */
+    public LocalDate windowStart(LocalDate today) {
+        return today.minusMonths(lookbackMonths);
+    }
+
     /**
-     * Resuelve la "fecha de vencimiento" del reporte.
+     * Acuses por período de varios reportes, en una sola consulta.
+     */
+    public Map<Long, Map<Integer, LocalDate>> acusesByReport(Collection<Long> reportIds) {
+        Map<Long, Map<Integer, LocalDate>> acuses = new HashMap<>();
+        if (reportIds.isEmpty()) {
+            return acuses;
+        }
+        for (ReportOccurrence occurrence : occurrenceRepository.findByReportIdInAndAcuseDateIsNotNull(reportIds)) {
+            acuses.computeIfAbsent(occurrence.getReportId(), k -> new HashMap<>())
+                    .put(occurrence.getPeriodIndex(), occurrence.getAcuseDate());
+        }
+        return acuses;
+    }
+
+    /**
+     * Recalcula período vigente y estado y los deja en la entidad. Sólo toca
+     * statusChangedAt si el estado realmente cambió. Devuelve true en ese caso.
+     */
+    public boolean refreshStatus(Report report) {
+        return refreshStatus(report, LocalDate.now());
+    }
+
+    public boolean refreshStatus(Report report, LocalDate today) {
+        // Un reporte nuevo todavía no tiene acuses
+        Map<Integer, LocalDate> acuses = report.getId() == null
+                ? Map.of()
+                : acusesByReport(List.of(report.getId())).getOrDefault(report.getId(), Map.of());
+        return refreshStatus(report, acuses, today);
+    }
+
+    public boolean refreshStatus(Report report, Map<Integer, LocalDate> acuses, LocalDate today) {
+        CurrentPeriod period = currentPeriod(resolveAnchorDate(report), report.getFrecuencia(), acuses, today);
+        report.setCurrentDueDate(period.dueDate());
+        report.setCurrentAcuseDate(period.acuseDate());
+
+        ReportStatus status = calculateStatus(period.dueDate(), period.acuseDate(), today);
+        if (status == report.getStatus()) {
+            return false;
+        }
+        report.setStatus(status);
+        report.setStatusChangedAt(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Fecha ancla del reporte (el vencimiento del primer período).
      * Imitamos al front:
      *  - primero fechaInicio
      *  - si no hay, fechaLimiteEnvio
      */
-    public LocalDate resolveDueDate(Report report) {
+    public LocalDate resolveAnchorDate(Report report) {
         if (report == null) {
             return null;
         }
@@ -88,6 +227,17 @@ public class ReportStatusService {
         return report.getFechaLimiteEnvio();
     }
 
+    /**
+     * Vencimiento del período vigente; las filas que todavía no lo tienen
+     * calculado caen en el ancla.
+     */
+    public LocalDate resolveDueDate(Report report) {
+        if (report == null) {
+            return null;
+        }
+        return report.getCurrentDueDate() != null ? report.getCurrentDueDate() : resolveAnchorDate(report);
+    }
+
 
     public Long daysUntilDue(Report report, LocalDate today) {
         LocalDate due = resolveDueDate(report);
@@ -109,4 +259,12 @@ public class ReportStatusService {
         // >= 0  y <= daysThreshold  => aún no vencido, pero ya cerca
         return days >= 0 && days <= daysThreshold;
     }
+
+    /**
+     * Vencimiento y acuse del período vigente de un reporte.
+     */
+    public record CurrentPeriod(LocalDate dueDate, LocalDate acuseDate) {
+
+        static final CurrentPeriod NONE = new CurrentPeriod(null, null);
+    }
 }
@@ -0,0 +1,132 @@
+package llanogas.demo.modules.reports.service;
+
+import jakarta.persistence.EntityManager;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene al día Report.status cuando cambia sólo por el paso del tiempo
+ * (DENTRO_DEL_PLAZO -> PENDIENTE -> VENCIDO). Las ediciones y los acuses ya
+ * lo recalculan en el momento (ReportStatusService.refreshStatus).
+ *
+ * Primero se recalcula en Java, por bloques, el período vigente de los
+ * reportes que cambian de período: los que ya tenían acuse y salieron de la
+ * gracia pasan al siguiente (un mensual enviado en marzo vuelve a quedar
+ * "Dentro del plazo" para abril), igual que los que quedaron antes de la
+ * ventana y los que todavía no lo tenían calculado. Después son tres UPDATE
+ * por rango del vencimiento del período vigente, sin cargar entidades. También corre al arrancar, lo que completa el estado de los
+ * reportes creados antes de que existieran las columnas.
+ */
+@Service
+@Transactional
+public class ReportStatusSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStatusSweeper.class);
+
+    // Igual que la ventana de gracia de ReportStatusService
+    private static final int GRACE_DAYS = 2;
+
+    private static final int REFRESH_BLOCK_SIZE = 500;
+
+    private final ReportRepository reportRepository;
+    private final ReportStatusService reportStatusService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReportStatusSweeper(ReportRepository reportRepository,
+                               ReportStatusService reportStatusService,
+                               EntityManager entityManager,
+                               ApplicationEventPublisher eventPublisher) {
+        this.reportRepository = reportRepository;
+        this.reportStatusService = reportStatusService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(cron = "${reports.status.sweep-cron:0 5 0 * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    public int sweep() {
+        return sweep(LocalDate.now());
+    }
+
+    public int sweep(LocalDate today) {
+        // En milisegundos: ReportChangeTracker vuelve a buscar las filas por este valor
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDate graceStart = today.minusDays(GRACE_DAYS);
+        int periods = refreshPeriods(today, graceStart);
+
+        // due < hoy-2
+        int vencidos = reportRepository.markStatusDueBefore(ReportStatus.VENCIDO, graceStart, now);
+        // hoy-2 <= due < hoy
+        int pendientes = reportRepository.markStatusDueBetween(ReportStatus.PENDIENTE, graceStart, today, now);
+        // due >= hoy, o sin fecha
+        int enPlazo = reportRepository.markStatusDueFromOrUndated(ReportStatus.DENTRO_DEL_PLAZO, today, now);
+
+        int swept = vencidos + pendientes + enPlazo;
+        if (swept > 0) {
+            eventPublisher.publishEvent(ReportChangedEvent.statusRefreshed(now));
+        }
+        int total = periods + swept;
+        if (total > 0) {
+            log.info("[STATUS] {} reportes cambiaron de estado ({} por período, {} vencidos, {} pendientes, {} en plazo)",
+                    total, periods, vencidos, pendientes, enPlazo);
+        }
+        return total;
+    }
+
+    /**
+     * Recalcula en Java el período vigente de los reportes que lo necesitan,
+     * de a bloques, con los acuses de cada bloque en una sola consulta.
+     * Devuelve cuántos cambiaron de estado.
+     */
+    private int refreshPeriods(LocalDate today, LocalDate graceStart) {
+        LocalDate windowStart = reportStatusService.windowStart(today);
+        int changed = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Report> block = reportRepository.findNeedingPeriodRefresh(
+                    afterId, graceStart, windowStart, PageRequest.of(0, REFRESH_BLOCK_SIZE));
+            if (block.isEmpty()) {
+                break;
+            }
+            List<Long> ids = block.stream().map(Report::getId).toList();
+            Map<Long, Map<Integer, LocalDate>> acuses = reportStatusService.acusesByReport(ids);
+            for (Report report : block) {
+                if (reportStatusService.refreshStatus(report, acuses.getOrDefault(report.getId(), Map.of()), today)) {
+                    changed++;
+                }
+            }
+            eventPublisher.publishEvent(ReportChangedEvent.saved(ids, ReportChangedEvent.assigneesOf(block)));
+            // Cada bloque se escribe y se suelta para no acumular entidades
+            entityManager.flush();
+            entityManager.clear();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return changed;
+    }
+}
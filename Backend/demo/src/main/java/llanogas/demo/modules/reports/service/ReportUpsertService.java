@@ -0,0 +1,316 @@
+package llanogas.demo.modules.reports.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportChangedEvent;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.importer.ReportContentHash;
+import llanogas.demo.modules.reports.mapper.ReportMapper;
+import llanogas.demo.modules.reports.repository.ReportKeyView;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importación idempotente (upsert) de reportes.
+ *
+ * Por cada bloque de filas:
+ *  1) se buscan de una vez los reportes existentes por llave natural
+ *     (idReporte, o entidadControl + nombreReporte normalizados) trayendo
+ *     sólo id y hash. Una fila con idReporte que no existe todavía se
+ *     empareja por nombre con un reporte viejo que no tenga idReporte;
+ *  2) las filas cuyo hash coincide se saltan;
+ *  3) las que cambiaron se actualizan con un único UPDATE en batch;
+ *  4) las nuevas se insertan con saveAll (batch por secuencia).
+ *
+ * Sólo se tocan las columnas que vienen del archivo: las asignaciones a
+ * usuarios (Mis Tareas) se conservan, y una fila sin idReporte nunca borra
+ * el que ya tenía el reporte.
+ */
+@Service
+public class ReportUpsertService {
+
+    private static final String UPDATE_SQL = """
+            update reports set
+                id_reporte = coalesce(nullif(?, ''), id_reporte), entidad_control = ?, nombre_reporte = ?,
+                informacion_contenido = ?, frecuencia = ?, cargo_responsable_envio = ?,
+                responsable_elaboracion_nombre = ?, email_responsable_envio = ?,
+                responsable_supervision_nombre = ?, email_lider_seguimiento = ?,
+                gerencia_responsable = ?, base_legal = ?, fecha_limite_envio = ?,
+                fecha_inicio = ?, telefono_responsable = ?, correos_notificacion = ?,
+                content_hash = ?, version = version + 1,
+                status = ?, current_due_date = ?, current_acuse_date = ?,
+                status_changed_at = case when status = ? then status_changed_at else ? end
+            where id = ?
+            """;
+
+    private final ReportRepository reportRepository;
+    private final ReportMapper reportMapper;
+    private final ReportStatusService reportStatusService;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Existentes por nombre, normalizado en SQL igual que ReportContentHash.normalize
+    private final String findByNameSql;
+
+    public ReportUpsertService(ReportRepository reportRepository,
+                               ReportMapper reportMapper,
+                               ReportStatusService reportStatusService,
+                               JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               EntityManagerFactory entityManagerFactory) {
+        this.reportRepository = reportRepository;
+        this.reportMapper = reportMapper;
+        this.reportStatusService = reportStatusService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.eventPublisher = eventPublisher;
+
+        Dialect dialect = entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        // PostgreSQL sólo reemplaza todas las coincidencias con 'g'; H2 (tests) lo hace siempre y no acepta la bandera
+        String collapse = dialect instanceof PostgreSQLDialect
+                ? "trim(regexp_replace(nombre_reporte, '\\s+', ' ', 'g'))"
+                : "trim(regexp_replace(nombre_reporte, '\\s+', ' '))";
+        this.findByNameSql = """
+                select id, id_reporte, entidad_control, nombre_reporte, content_hash,
+                       responsable_elaboracion_user_id, supervisor_cumplimiento_user_id
+                from reports
+                where lower(%s) in (:nombres)
+                order by id
+                """.formatted(collapse);
+    }
+
+    /**
+     * Aplica un bloque de filas ya validadas y suma los conteos en result.
+     */
+    @Transactional
+    public void upsertChunk(List<ReportImportDto> rows, ReportImportResultDto result) {
+        // Si la misma llave viene repetida en el bloque, gana la última fila
+        Map<String, ReportImportDto> byKey = new LinkedHashMap<>();
+        for (ReportImportDto row : rows) {
+            byKey.put(ReportContentHash.naturalKey(row), row);
+        }
+
+        Existing existing = findExisting(byKey.values());
+
+        List<Report> toInsert = new ArrayList<>();
+        List<PendingUpdate> toUpdate = new ArrayList<>();
+        // El UPDATE no toca las asignaciones: los asignados son los que ya tenían
+        Set<Long> assignees = new HashSet<>();
+        int unchanged = 0;
+
+        for (Map.Entry<String, ReportImportDto> entry : byKey.entrySet()) {
+            ReportImportDto row = entry.getValue();
+            String hash = ReportContentHash.hash(row);
+            ReportKeyView current = existing.match(entry.getKey(), row);
+
+            if (current == null) {
+                toInsert.add(reportMapper.fromImportDto(row));
+            } else if (hash.equals(current.getContentHash())) {
+                unchanged++;
+            } else {
+                toUpdate.add(new PendingUpdate(row, hash, current.getId()));
+                assignees.add(current.getResponsableElaboracionUserId());
+                assignees.add(current.getSupervisorCumplimientoUserId());
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            reportRepository.saveAll(toInsert);
+        }
+        if (!toUpdate.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            // Las fechas pudieron cambiar: el período vigente se recalcula con los acuses de cada uno
+            Map<Long, Map<Integer, LocalDate>> acuses = reportStatusService.acusesByReport(
+                    toUpdate.stream().map(PendingUpdate::id).toList());
+            jdbcTemplate.batchUpdate(UPDATE_SQL, toUpdate, toUpdate.size(),
+                    (ps, update) -> bindUpdate(ps, update, acuses.getOrDefault(update.id(), Map.of()), today, now));
+        }
+
+        List<Long> changedIds = new ArrayList<>(toInsert.size() + toUpdate.size());
+        toInsert.forEach(report -> changedIds.add(report.getId()));
+        toUpdate.forEach(update -> changedIds.add(update.id()));
+        if (!changedIds.isEmpty()) {
+            assignees.addAll(ReportChangedEvent.assigneesOf(toInsert));
+            eventPublisher.publishEvent(ReportChangedEvent.saved(changedIds, assignees));
+        }
+
+        // Las filas repetidas dentro del bloque cuentan como sin cambios
+        unchanged += rows.size() - byKey.size();
+
+        result.setInserted(result.getInserted() + toInsert.size());
+        result.setUpdated(result.getUpdated() + toUpdate.size());
+        result.setUnchanged(result.getUnchanged() + unchanged);
+        result.setImported(result.getImported() + toInsert.size() + toUpdate.size());
+    }
+
+    /**
+     * Dos consultas por bloque (por idReporte y por nombre normalizado),
+     * sin importar cuántas filas tenga.
+     */
+    private Existing findExisting(Iterable<ReportImportDto> rows) {
+        Set<String> idReportes = new HashSet<>();
+        Set<String> nombres = new HashSet<>();
+        for (ReportImportDto row : rows) {
+            if (row.getIdReporte() != null && !row.getIdReporte().isBlank()) {
+                idReportes.add(row.getIdReporte().trim());
+            }
+            // También para las que traen id: si el id no existe se busca por nombre
+            if (row.getNombreReporte() != null) {
+                nombres.add(ReportContentHash.normalize(row.getNombreReporte()));
+            }
+        }
+
+        Existing existing = new Existing();
+        if (!nombres.isEmpty()) {
+            List<ReportKeyView> views = namedJdbc.query(
+                    findByNameSql,
+                    new MapSqlParameterSource("nombres", nombres),
+                    (rs, i) -> new KeyRow(rs.getLong("id"), rs.getString("id_reporte"),
+                            rs.getString("entidad_control"), rs.getString("nombre_reporte"),
+                            rs.getString("content_hash"),
+                            rs.getObject("responsable_elaboracion_user_id", Long.class),
+                            rs.getObject("supervisor_cumplimiento_user_id", Long.class)));
+            for (ReportKeyView view : views) {
+                String key = ReportContentHash.naturalKey(null, view.getEntidadControl(), view.getNombreReporte());
+                // Ordenadas por id: ante repetidos gana el más antiguo
+                existing.byName.putIfAbsent(key, view);
+                if (view.getIdReporte() == null || view.getIdReporte().isBlank()) {
+                    existing.byNameWithoutId.putIfAbsent(key, view);
+                }
+            }
+        }
+        if (!idReportes.isEmpty()) {
+            existing.byId.putAll(reportRepository.findByIdReporteIn(idReportes).stream()
+                    .collect(Collectors.toMap(
+                            view -> ReportContentHash.naturalKey(view.getIdReporte(), null, null),
+                            view -> view,
+                            (a, b) -> a.getId() < b.getId() ? a : b
+                    )));
+        }
+        return existing;
+    }
+
+    private void bindUpdate(PreparedStatement ps, PendingUpdate update, Map<Integer, LocalDate> acuses,
+                            LocalDate today, Timestamp now) throws SQLException {
+        ReportImportDto row = update.row();
+        ps.setString(1, row.getIdReporte());
+        ps.setString(2, row.getEntidadControl());
+        ps.setString(3, row.getNombreReporte());
+        ps.setString(4, row.getInformacionContenido());
+        ps.setString(5, row.getFrecuencia());
+        ps.setString(6, row.getCargoResponsableEnvio());
+        ps.setString(7, row.getResponsableElaboracionName());
+        ps.setString(8, row.getEmailResponsableEnvio());
+        ps.setString(9, row.getResponsableSupervisionName());
+        ps.setString(10, row.getEmailLiderSeguimiento());
+        ps.setString(11, row.getGerenciaResponsable());
+        ps.setString(12, row.getBaseLegal());
+        setDate(ps, 13, row.getFechaLimiteEnvio());
+        setDate(ps, 14, row.getFechaInicio());
+        ps.setString(15, row.getTelefonoResponsable());
+        ps.setString(16, row.getCorreosNotificacion());
+        ps.setString(17, update.hash());
+
+        // Mismo cálculo que ReportStatusService.refreshStatus, las fechas pudieron cambiar
+        LocalDate anchor = row.getFechaInicio() != null ? row.getFechaInicio() : row.getFechaLimiteEnvio();
+        ReportStatusService.CurrentPeriod period = reportStatusService.currentPeriod(
+                anchor, row.getFrecuencia(), acuses, today);
+        String status = reportStatusService.calculateStatus(period.dueDate(), period.acuseDate(), today).name();
+        ps.setString(18, status);
+        setDate(ps, 19, period.dueDate());
+        setDate(ps, 20, period.acuseDate());
+        ps.setString(21, status);
+        ps.setTimestamp(22, now);
+        ps.setLong(23, update.id());
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(date));
+        }
+    }
+
+    private record PendingUpdate(ReportImportDto row, String hash, Long id) {
+    }
+
+    /**
+     * Reportes ya guardados que coinciden con el bloque, por cada tipo de llave.
+     */
+    private static final class Existing {
+
+        private final Map<String, ReportKeyView> byId = new HashMap<>();
+        private final Map<String, ReportKeyView> byName = new HashMap<>();
+        // Sólo los que no tienen idReporte: a esos puede engancharse una fila con id nuevo
+        private final Map<String, ReportKeyView> byNameWithoutId = new HashMap<>();
+
+        ReportKeyView match(String key, ReportImportDto row) {
+            if (key.startsWith("id:")) {
+                ReportKeyView current = byId.get(key);
+                return current != null
+                        ? current
+                        : byNameWithoutId.get(ReportContentHash.naturalKey(
+                                null, row.getEntidadControl(), row.getNombreReporte()));
+            }
+            return byName.get(key);
+        }
+    }
+
+    private record KeyRow(Long id, String idReporte, String entidadControl,
+                          String nombreReporte, String contentHash,
+                          Long responsableElaboracionUserId,
+                          Long supervisorCumplimientoUserId) implements ReportKeyView {
+
+        @Override
+        public Long getId() { return id; }
+
+        @Override
+        public String getIdReporte() { return idReporte; }
+
+        @Override
+        public String getEntidadControl() { return entidadControl; }
+
+        @Override
+        public String getNombreReporte() { return nombreReporte; }
+
+        @Override
+        public String getContentHash() { return contentHash; }
+
+        @Override
+        public Long getResponsableElaboracionUserId() { return responsableElaboracionUserId; }
+
+        @Override
+        public Long getSupervisorCumplimientoUserId() { return supervisorCumplimientoUserId; }
+    }
+}
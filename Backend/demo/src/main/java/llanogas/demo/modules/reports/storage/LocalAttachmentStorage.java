@@ -0,0 +1,60 @@
+package llanogas.demo.modules.reports.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Guarda los adjuntos de reportes en el sistema de archivos local,
+ * bajo {reports.attachments.dir}/{reportId}/{uuid}.
+ *
+ * El multipart ya llega a disco (file-size-threshold=0), así que
+ * transferTo lo mueve/copia al destino sin pasar el archivo por el heap.
+ */
+@Component
+public class LocalAttachmentStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalAttachmentStorage.class);
+
+    private final Path root;
+
+    public LocalAttachmentStorage(@Value("${reports.attachments.dir:./data/attachments}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return la llave relativa con la que se vuelve a encontrar el archivo
+     */
+    public String store(Long reportId, MultipartFile file) throws IOException {
+        String key = reportId + "/" + UUID.randomUUID();
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        file.transferTo(target);
+        return key;
+    }
+
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        // La llave la genera store(), pero no dejamos salir del directorio raíz
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Llave de adjunto inválida: " + key);
+        }
+        return path;
+    }
+
+    public void deleteQuietly(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("[ATTACHMENTS] No se pudo borrar {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package llanogas.demo.modules.reports.web;
+
+import llanogas.demo.modules.reports.dto.ReportAttachmentDto;
+import llanogas.demo.modules.reports.service.ReportAttachmentService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Acuses y evidencias de un reporte.
+ */
+@RestController
+@RequestMapping("/api/reports/{reportId}/attachments")
+@CrossOrigin(origins = "*")
+public class ReportAttachmentController {
+
+    private final ReportAttachmentService attachmentService;
+
+    public ReportAttachmentController(ReportAttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    // kind = acuse | evidence; occurrenceId opcional (si no, se elige el período pendiente)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReportAttachmentDto> upload(
+            @PathVariable Long reportId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("kind") String kind,
+            @RequestParam(value = "occurrenceId", required = false) Long occurrenceId,
+            @RequestParam(value = "userId", required = false) Long userId) {
+
+        ReportAttachmentDto created = attachmentService.upload(reportId, file, kind, occurrenceId, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportAttachmentDto>> list(@PathVariable Long reportId) {
+        return ResponseEntity.ok(attachmentService.list(reportId));
+    }
+
+    // Se devuelve el Resource del disco: Spring atiende Range (206) y
+    // copia el archivo a la respuesta por bloques, sin cargarlo entero
+    @GetMapping("/{attachmentId}/content")
+    public ResponseEntity<Resource> download(@PathVariable Long reportId,
+                                             @PathVariable Long attachmentId) {
+
+        ReportAttachmentService.AttachmentContent content = attachmentService.loadContent(reportId, attachmentId);
+        ReportAttachmentDto attachment = content.attachment();
+
+        MediaType mediaType = mediaTypeOf(attachment.getContentType());
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(attachment.getFileName() != null ? attachment.getFileName() : "adjunto-" + attachmentId,
+                        StandardCharsets.UTF_8)
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                // El archivo de un adjunto no cambia: sirve para If-Range
+                .eTag("\"att-" + attachmentId + "\"")
+                .body(content.resource());
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> delete(@PathVariable Long reportId,
+                                       @PathVariable Long attachmentId) {
+        attachmentService.delete(reportId, attachmentId);
+        return ResponseEntity.noContent().build(); // 204
+    }
+
+    // El content type lo manda el cliente al subir; si no sirve, se baja como binario
+    private static MediaType mediaTypeOf(String contentType) {
+        if (contentType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -1,14 +1,47 @@
 package llanogas.demo.modules.reports.web;
 
+import llanogas.demo.config.ReadThroughCache;
+import llanogas.demo.modules.reports.cache.ReportReadCache;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
+import llanogas.demo.modules.reports.dto.ReportBulkRequestDto;
+import llanogas.demo.modules.reports.dto.ReportBulkResultDto;
+import llanogas.demo.modules.reports.dto.ReportCalendarDayDto;
+import llanogas.demo.modules.reports.dto.ReportChangesDto;
 import llanogas.demo.modules.reports.dto.ReportCreateDto;
 import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
 import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.dto.ReportMyTasksDto;
+import llanogas.demo.modules.reports.dto.ReportOccurrenceDto;
+import llanogas.demo.modules.reports.dto.ReportSearchResultDto;
+import llanogas.demo.modules.reports.dto.ReportSummaryDto;
+import llanogas.demo.modules.reports.search.ReportSearchIndex;
+import llanogas.demo.modules.reports.service.ReportBulkService;
+import llanogas.demo.modules.reports.service.ReportChangeTracker;
+import llanogas.demo.modules.reports.service.ReportExportService;
+import llanogas.demo.modules.reports.service.ReportFileImportService;
+import llanogas.demo.modules.reports.service.ReportJsonStreamService;
+import llanogas.demo.modules.reports.service.ReportMyTasksService;
+import llanogas.demo.modules.reports.service.ReportOccurrenceService;
 import llanogas.demo.modules.reports.service.ReportService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,10 +49,39 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ReportController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final ReportService reportService;
+    private final ReportFileImportService reportFileImportService;
+    private final ReportOccurrenceService reportOccurrenceService;
+    private final ReportChangeTracker reportChangeTracker;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportExportService reportExportService;
+    private final ReportBulkService reportBulkService;
+    private final ReportJsonStreamService reportJsonStreamService;
+    private final ReportMyTasksService reportMyTasksService;
+    private final ReportReadCache reportReadCache;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService,
+                            ReportFileImportService reportFileImportService,
+                            ReportOccurrenceService reportOccurrenceService,
+                            ReportChangeTracker reportChangeTracker,
+                            ReportSearchIndex reportSearchIndex,
+                            ReportExportService reportExportService,
+                            ReportBulkService reportBulkService,
+                            ReportJsonStreamService reportJsonStreamService,
+                            ReportMyTasksService reportMyTasksService,
+                            ReportReadCache reportReadCache) {
         this.reportService = reportService;
+        this.reportFileImportService = reportFileImportService;
+        this.reportOccurrenceService = reportOccurrenceService;
+        this.reportChangeTracker = reportChangeTracker;
+        this.reportSearchIndex = reportSearchIndex;
+        this.reportExportService = reportExportService;
+        this.reportBulkService = reportBulkService;
+        this.reportJsonStreamService = reportJsonStreamService;
+        this.reportMyTasksService = reportMyTasksService;
+        this.reportReadCache = reportReadCache;
     }
 
     // ================== IMPORTACIÓN DESDE EXCEL ==================
@@ -32,6 +94,27 @@ public class ReportController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // Re-importación idempotente: POST /api/reports/import?mode=upsert
+    // Sólo inserta lo nuevo y actualiza lo que cambió (por idReporte o entidad+nombre)
+    @PostMapping(value = "/import", params = "mode=upsert")
+    public ResponseEntity<ReportImportResultDto> upsertReports(
+            @Valid @RequestBody List<ReportImportDto> importDtos) {
+
+        return ResponseEntity.ok(reportService.upsertReports(importDtos));
+    }
+
+    // Subida del archivo tal cual (.xlsx / .csv); se procesa en el backend por streaming
+    // (?mode=upsert para re-importar sin duplicar)
+    @PostMapping(value = "/import/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReportImportResultDto> importReportsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "insert") String mode) {
+
+        boolean upsert = "upsert".equalsIgnoreCase(mode);
+        ReportImportResultDto result = reportFileImportService.importFile(file, upsert);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     // ================== CREACIÓN MANUAL ==================
 
     @PostMapping
@@ -42,17 +125,186 @@ public class ReportController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    // ================== OPERACIONES MASIVAS ==================
+    // POST /api/reports/bulk {"ids":[...] | "filter":{...}, "operation":"reassign|reschedule|delete", ...}
+    // Todo en una transacción; devuelve conteos.
+
+    @PostMapping("/bulk")
+    public ReportBulkResultDto bulk(@Valid @RequestBody ReportBulkRequestDto request) {
+        return reportBulkService.execute(request);
+    }
+
     // ================== LISTADO GENERAL ==================
+    // Los listados completos llevan ETag: el dashboard consulta cada pocos
+    // segundos y, si nada cambió, el If-None-Match se contesta con 304
+    // sin consultar la base ni serializar nada.
+    // Si cambió, las filas se escriben directo del cursor JDBC al JSON.
 
     @GetMapping
-    public List<ReportDto> getAll() {
-        return reportService.findAll();
+    public ResponseEntity<StreamingResponseBody> getAll(WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304
+        }
+        return revalidatedJson(reportJsonStreamService.streamAll());
+    }
+
+    // ================== LISTADO PAGINADO (keyset) ==================
+    // GET /api/reports?limit=50[&cursor=123][&sort=desc]
+    //     [&entidadControl=&gerenciaResponsable=&frecuencia=&dueFrom=&dueTo=&userId=]
+    // Sin ?limit= se mantiene el listado completo de arriba para no romper el front.
+
+    @GetMapping(params = "limit")
+    public CursorPageDto<ReportDto> getPage(
+            ReportFilter filter,
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "sort", defaultValue = "asc") String sort
+    ) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sort)
+                .orElse(Sort.Direction.ASC);
+        return reportService.findPage(filter, cursor, limit, direction);
     }
 
-    // 🔥 "Mis tareas": sólo reportes asignados a un usuario
+    // ================== VISTA RESUMIDA (dashboard / listas) ==================
+    // ?view=summary devuelve ReportSummaryDto: sin los campos de texto largo.
+    // Acepta los mismos filtros; con ?limit= también pagina por cursor.
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<ReportSummaryDto>> getAllSummaries(ReportFilter filter, WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304
+        }
+        return revalidated(reportService.findSummaries(filter));
+    }
+
+    @GetMapping(params = {"view=summary", "limit"})
+    public CursorPageDto<ReportSummaryDto> getSummaryPage(
+            ReportFilter filter,
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "sort", defaultValue = "asc") String sort
+    ) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sort)
+                .orElse(Sort.Direction.ASC);
+        return reportService.findSummaryPage(filter, cursor, limit, direction);
+    }
+
+    // ================== SINCRONIZACIÓN INCREMENTAL ==================
+    // GET /api/reports/changes?since=<token>[&limit=500]
+    // Sin since devuelve todo (por páginas). El token de la respuesta va en
+    // el siguiente ?since=; 410 si es tan viejo que ya no hay sus borrados.
+
+    @GetMapping("/changes")
+    public ReportChangesDto getChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "500") int limit
+    ) {
+        return reportChangeTracker.findChanges(since, limit);
+    }
+
+    // ================== BÚSQUEDA ==================
+    // GET /api/reports/search?q=resolucion tarifas[&offset=0&limit=20]
+    // Todas las palabras deben aparecer (sin importar tildes ni mayúsculas);
+    // ordenado por relevancia. Se resuelve en memoria, sin ir a la base.
+
+    @GetMapping("/search")
+    public ReportSearchResultDto search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return reportSearchIndex.search(q, offset, limit);
+    }
+
+    // ================== EXPORTACIÓN ==================
+    // GET /api/reports/export?format=csv|xlsx[&entidadControl=&gerenciaResponsable=...]
+    // Mismos filtros del listado. Las filas se leen con cursor y se escriben
+    // directo en la respuesta; las columnas son las de la importación.
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            ReportFilter filter,
+            @RequestParam(value = "format", defaultValue = "xlsx") String format
+    ) {
+        ReportExportService.ReportExport export = reportExportService.export(filter, format);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(export.fileName())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(export.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .cacheControl(CacheControl.noStore())
+                .body(export.body());
+    }
+
+    // ================== CACHÉ DE LECTURAS ==================
+    // GET /api/reports/cache/stats: tamaño, aciertos, fallos y desalojos de cada caché
+
+    @GetMapping("/cache/stats")
+    public List<ReadThroughCache.Stats> getCacheStats() {
+        return reportReadCache.stats();
+    }
+
+    // ================== DETALLE ==================
+
+    // El ETag es la versión del reporte: es lo que va en el If-Match del PATCH
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportDto> getById(@PathVariable Long id) {
+        ReportDto report = reportService.findById(id);
+        return ResponseEntity.ok().eTag(versionETag(report)).body(report);
+    }
+
+    // Períodos materializados del reporte: GET /api/reports/{id}/occurrences?from=&to=
+    // (por defecto del último año al próximo)
+    @GetMapping("/{id}/occurrences")
+    public List<ReportOccurrenceDto> getOccurrences(
+            @PathVariable Long id,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate today = LocalDate.now();
+        return reportOccurrenceService.findForReport(
+                id,
+                from != null ? from : today.minusYears(1),
+                to != null ? to : today.plusYears(1)
+        );
+    }
+
+    // 🔥 "Mis tareas": sólo reportes asignados a un usuario, agrupados por estado
+    // y con conteos; sale de la caché por usuario si nada suyo cambió
     @GetMapping("/my-tasks")
-    public List<ReportDto> getMyTasks(@RequestParam("userId") Long userId) {
-        return reportService.findByAssignedUser(userId);
+    public ResponseEntity<ReportMyTasksDto> getMyTasks(@RequestParam("userId") Long userId, WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304
+        }
+        return revalidated(reportMyTasksService.findForUser(userId));
+    }
+
+    @GetMapping(value = "/my-tasks", params = "view=summary")
+    public ResponseEntity<List<ReportSummaryDto>> getMyTaskSummaries(@RequestParam("userId") Long userId,
+                                                                     WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304
+        }
+        ReportFilter filter = new ReportFilter();
+        filter.setUserId(userId);
+        return revalidated(reportService.findSummaries(filter));
+    }
+
+    // ================== CALENDARIO ==================
+    // GET /api/reports/calendar?from=2025-03-01&to=2025-03-31[&userId=5]
+    // Sólo los vencimientos del rango, agrupados por día y con conteo por estado.
+
+    @GetMapping("/calendar")
+    public List<ReportCalendarDayDto> getCalendar(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "userId", required = false) Long userId
+    ) {
+        return reportOccurrenceService.findCalendar(from, to, userId);
     }
 
     // ================== ELIMINAR ==================
@@ -75,4 +327,60 @@ public class ReportController {
         ReportDto updated = reportService.updateReport(id, dto);
         return ResponseEntity.ok(updated);
     }
+
+    // PATCH /api/reports/{id} con application/merge-patch+json: sólo los campos
+    // enviados (null = borrar el valor). Con If-Match: "<versión>" la edición
+    // se rechaza (412) si el reporte cambió desde que se leyó; si dos guardan
+    // a la vez, el segundo recibe 409.
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ReportDto> patchReport(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ReportDto updated = reportService.patchReport(id, patch, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(versionETag(updated)).body(updated);
+    }
+
+    private static String versionETag(ReportDto report) {
+        return "\"" + report.getVersion() + "\"";
+    }
+
+    // Acepta un solo ETag ("3" o W/"3"); "*" o sin header = sin condición.
+    // Lo que no se entiende no puede coincidir: 412.
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match inválido: " + ifMatch);
+        }
+    }
+
+    // checkNotModified deja puesto el ETag (también en el 200) o el 304
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(reportService.listETag());
+    }
+
+    // no-cache: el navegador guarda la respuesta pero la revalida en cada consulta
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    // El cuerpo por streaming no pasa por los converters: el tipo va explícito
+    private static ResponseEntity<StreamingResponseBody> revalidatedJson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,66 @@
+package llanogas.demo.modules.reports.web;
+
+import llanogas.demo.modules.reports.dto.ImportJobDto;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.service.ImportJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Importaciones en segundo plano. El POST responde 202 con el id del job
+ * y el front consulta el avance con GET hasta que termine.
+ */
+@RestController
+@RequestMapping("/api/reports/import-jobs")
+@CrossOrigin(origins = "*")
+public class ReportImportJobController {
+
+    private final ImportJobService importJobService;
+
+    public ReportImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    // Archivo .xlsx / .csv (?mode=upsert para re-importar sin duplicar)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDto> submitFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "mode", defaultValue = "insert") String mode) {
+
+        return accepted(importJobService.submitFile(file, "upsert".equalsIgnoreCase(mode)));
+    }
+
+    // Mismo JSON que POST /api/reports/import. Sin @Valid: las filas inválidas
+    // se reportan en los errores del job en vez de rechazar todo el lote.
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportJobDto> submitRows(
+            @RequestBody List<ReportImportDto> importDtos,
+            @RequestParam(value = "mode", defaultValue = "insert") String mode) {
+
+        return accepted(importJobService.submitRows(importDtos, "upsert".equalsIgnoreCase(mode)));
+    }
+
+    @GetMapping("/{id}")
+    public ImportJobDto getJob(@PathVariable String id) {
+        return importJobService.getJob(id);
+    }
+
+    // Cancelar: DELETE /api/reports/import-jobs/{id}
+    @DeleteMapping("/{id}")
+    public ImportJobDto cancelJob(@PathVariable String id) {
+        return importJobService.cancelJob(id);
+    }
+
+    private static ResponseEntity<ImportJobDto> accepted(ImportJobDto job) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/reports/import-jobs/" + job.getId()))
+                .body(job);
+    }
+}
@@ -3,11 +3,18 @@ package llanogas.demo.modules.users.domain;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        indexes = {
+                // Filtro por rol del directorio (UserRepository.findDirectory)
+                @Index(name = "idx_users_role", columnList = "role_id, id")
+        }
+)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 150)
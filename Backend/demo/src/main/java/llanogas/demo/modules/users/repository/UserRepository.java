@@ -1,11 +1,56 @@
 package llanogas.demo.modules.users.repository;
 
 import llanogas.demo.modules.users.domain.User;
+import llanogas.demo.modules.users.dto.UserDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    // El rol en la misma consulta (join), no una consulta por usuario
+    @Override
+    @EntityGraph(attributePaths = "role")
+    List<User> findAll();
+
+    /**
+     * Directorio de usuarios: DTO armado en la consulta (un left join con
+     * roles, sin cargar entidades), keyset sobre id.
+     *
+     * prefix ya viene en minúsculas, escapado y con el % al final;
+     * afterId, roleCode y prefix son opcionales (null = sin filtro).
+     */
+    @Query("""
+            select new llanogas.demo.modules.users.dto.UserDto(u.id, u.email, u.fullName, r.code, r.name)
+            from User u left join u.role r
+            where (:afterId is null or u.id > :afterId)
+              and (:roleCode is null or r.code = :roleCode)
+              and (:prefix is null
+                   or lower(u.fullName) like :prefix escape '\\'
+                   or lower(u.email) like :prefix escape '\\')
+            order by u.id
+            """)
+    List<UserDto> findDirectory(@Param("afterId") Long afterId,
+                                @Param("roleCode") String roleCode,
+                                @Param("prefix") String prefix,
+                                Pageable pageable);
+
+    // Hash de la contraseña para el login, sin cargar la entidad ni el rol
+    @Query("select u.password from User u where u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    // Rehash al iniciar sesión: sólo si nadie cambió la contraseña mientras tanto
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
 }
@@ -1,30 +1,47 @@
 package llanogas.demo.modules.users.service;
 
+import llanogas.demo.config.ReadThroughCache;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
 import llanogas.demo.modules.users.domain.Role;
 import llanogas.demo.modules.users.domain.User;
 import llanogas.demo.modules.users.dto.UserDto;
 import llanogas.demo.modules.users.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import llanogas.demo.modules.users.repository.RoleRepository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 
 @Service
 public class UserService {
 
+    // Tope de filas por página del directorio
+    static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // Login: email -> id y DTO (con el rol ya resuelto), sin el hash de la
+    // contraseña. Se invalida al crear, editar, borrar o rehashear; el TTL
+    // cubre los cambios de nombre o rol hechos en otra instancia.
+    private final ReadThroughCache<String, LoginUser> loginUserCache;
+
     public UserService(UserRepository userRepository,
                        RoleRepository roleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       @Value("${auth.users.cache-max:1000}") int cacheMax,
+                       @Value("${auth.users.cache-ttl-seconds:60}") long cacheTtlSeconds) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.loginUserCache = new ReadThroughCache<>("login-users", cacheMax, cacheTtlSeconds);
     }
 
     /**
@@ -38,16 +55,79 @@ public class UserService {
      * Listar todos los usuarios como DTO (si lo necesitas en otros controllers).
      */
     public List<UserDto> findAllAsDto() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return findDirectory(null, null);
+    }
+
+    /**
+     * Directorio completo, opcionalmente filtrado por prefijo de nombre o
+     * email (q) y por code de rol. Una sola consulta, directo a DTO.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDto> findDirectory(String q, String roleCode) {
+        return userRepository.findDirectory(null, blankToNull(roleCode), prefixPattern(q), Pageable.unpaged());
+    }
+
+    /**
+     * Una página del directorio (keyset sobre id), con los mismos filtros.
+     * Es lo que usa el selector de usuarios: nunca baja la tabla entera.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserDto> findDirectoryPage(String q, String roleCode, Long cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserDto> rows = userRepository.findDirectory(
+                cursor, blankToNull(roleCode), prefixPattern(q), PageRequest.of(0, pageSize + 1));
+
+        // La fila sobrante sólo indica que hay más
+        boolean hasMore = rows.size() > pageSize;
+        List<UserDto> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageDto<>(List.copyOf(items), nextCursor, hasMore, pageSize);
     }
 
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * Id, email y DTO del usuario, desde la caché. Los emails que no existen
+     * no se guardan: siempre van a la base.
+     */
+    public Optional<LoginUser> findLoginUser(String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(loginUserCache.get(email, () -> userRepository.findByEmail(email)
+                .map(user -> new LoginUser(user.getId(), user.getEmail(), toDto(user)))
+                .orElse(null)));
+    }
+
+    /**
+     * Lo que necesita el login. El usuario sale de la caché, pero el hash se
+     * lee siempre de la base (por id): un cambio o borrado hecho en otra
+     * instancia vale desde el siguiente intento.
+     */
+    public Optional<Credentials> findCredentials(String email) {
+        return findLoginUser(email).flatMap(user -> {
+            Optional<String> hash = userRepository.findPasswordById(user.id());
+            if (hash.isEmpty()) {
+                // Lo borraron en otra instancia
+                loginUserCache.invalidate(List.of(user.email()));
+            }
+            return hash.map(passwordHash -> new Credentials(user.id(), user.email(), passwordHash, user.user()));
+        });
+    }
+
+    /**
+     * Reemplaza el hash de la contraseña (mismo texto, otro costo).
+     * Si la contraseña cambió mientras tanto no toca nada y devuelve false.
+     */
+    @Transactional
+    public boolean updatePasswordHash(Credentials credentials, String newHash) {
+        int updated = userRepository.updatePasswordHash(credentials.id(), credentials.passwordHash(), newHash);
+        loginUserCache.invalidate(List.of(credentials.email()));
+        return updated > 0;
+    }
+
     /**
      * Crear un nuevo usuario desde datos de front.
      * El estado lo calcula el front; aquí no se persiste ningún status.
@@ -71,7 +151,9 @@ public class UserService {
             user.setPassword(encoded);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        loginUserCache.invalidate(List.of(saved.getEmail()));
+        return saved;
     }
 
     /**
@@ -86,6 +168,7 @@ public class UserService {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con id " + id));
+        String previousEmail = user.getEmail();
 
         // Campos básicos
         user.setFullName(fullName);
@@ -103,17 +186,19 @@ public class UserService {
             user.setPassword(encoded);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        loginUserCache.invalidate(List.of(previousEmail, saved.getEmail()));
+        return saved;
     }
 
     /**
      * Eliminar usuario por id.
      */
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("Usuario no encontrado con id " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado con id " + id));
         userRepository.deleteById(id);
+        loginUserCache.invalidate(List.of(user.getEmail()));
     }
 
     /**
@@ -142,6 +227,22 @@ public class UserService {
         return dto;
     }
 
+    // "Ana" -> "ana%", con % _ y \ escapados para que cuenten como texto
+    private static String prefixPattern(String q) {
+        if (q == null || q.isBlank()) {
+            return null;
+        }
+        String escaped = q.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
     /**
      * Resolver Role por código. Lanza excepción si no existe.
      */
@@ -153,4 +254,17 @@ public class UserService {
         return roleRepository.findByCode(roleCode)
                 .orElseThrow(() -> new IllegalArgumentException("Rol no encontrado con código " + roleCode));
     }
+
+    /**
+     * Lo que se guarda en la caché del login: nunca el hash.
+     */
+    public record LoginUser(Long id, String email, UserDto user) {
+    }
+
+    /**
+     * Datos de un usuario para el login: el hash para verificar y el DTO
+     * que va en la respuesta.
+     */
+    public record Credentials(Long id, String email, String passwordHash, UserDto user) {
+    }
 }
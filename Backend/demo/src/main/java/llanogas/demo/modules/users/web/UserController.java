@@ -1,7 +1,11 @@
 package llanogas.demo.modules.users.web;
 
+import llanogas.demo.modules.auth.domain.Permission;
+import llanogas.demo.modules.reports.dto.CursorPageDto;
 import llanogas.demo.modules.users.domain.User;
+import llanogas.demo.modules.users.dto.UserDto;
 import llanogas.demo.modules.users.service.UserService;
+import llanogas.demo.security.CurrentUser;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -28,23 +33,48 @@ public class UserController {
     }
 
     /**
-     * GET /api/users
+     * GET /api/users[?q=ana][&role=admin]
      * Devuelve el catálogo de usuarios para el front.
+     * q filtra por prefijo de nombre o email; role por code de rol.
      */
     @GetMapping
-    public List<UserResponse> listAll() {
-        List<User> users = userService.findAll();
-        return users.stream()
-                .map(UserResponse::fromEntity)
+    public List<UserResponse> listAll(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "role", required = false) String role
+    ) {
+        return userService.findDirectory(q, role).stream()
+                .map(UserResponse::fromDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * GET /api/users?limit=50[&cursor=123][&q=ana][&role=admin]
+     * Lo mismo, paginado por cursor (para el selector de usuarios).
+     * Sin ?limit= se mantiene el listado completo de arriba.
+     */
+    @GetMapping(params = "limit")
+    public CursorPageDto<UserResponse> page(
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "role", required = false) String role
+    ) {
+        CursorPageDto<UserDto> page = userService.findDirectoryPage(q, role, cursor, limit);
+        return new CursorPageDto<>(
+                page.getItems().stream().map(UserResponse::fromDto).collect(Collectors.toList()),
+                page.getNextCursor(),
+                page.isHasMore(),
+                page.getLimit()
+        );
+    }
+
     /**
      * POST /api/users
-     * Crea un nuevo usuario.
+     * Crea un nuevo usuario. Exige el permiso nav.users.
      */
     @PostMapping
     public UserResponse create(@RequestBody UpdateUserRequest request) {
+        CurrentUser.require(Permission.NAV_USERS);
         User created = userService.createUser(
                 request.getFullName(),
                 request.getEmail(),
@@ -56,13 +86,14 @@ public class UserController {
 
     /**
      * PUT /api/users/{id}
-     * Actualiza un usuario existente.
+     * Actualiza un usuario existente. Exige el permiso nav.users.
      */
     @PutMapping("/{id}")
     public UserResponse update(
             @PathVariable Long id,
             @RequestBody UpdateUserRequest request
     ) {
+        CurrentUser.require(Permission.NAV_USERS);
         User updated = userService.updateUser(
                 id,
                 request.getFullName(),
@@ -75,10 +106,11 @@ public class UserController {
 
     /**
      * DELETE /api/users/{id}
-     * Elimina un usuario.
+     * Elimina un usuario. Exige el permiso nav.users.
      */
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
+        CurrentUser.require(Permission.NAV_USERS);
         userService.deleteUser(id);
     }
 
@@ -160,6 +192,10 @@ public class UserController {
             this.roleId = roleId;
         }
 
+        public static UserResponse fromDto(UserDto user) {
+            return new UserResponse(user.getId(), user.getFullName(), user.getEmail(), user.getRoleId());
+        }
+
         public static UserResponse fromEntity(User user) {
             if (user == null) return null;
 
@@ -0,0 +1,45 @@
+package llanogas.demo.security;
+
+import llanogas.demo.modules.auth.domain.AuthUserDetails;
+import llanogas.demo.modules.auth.domain.Permission;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+/**
+ * Usuario autenticado de la request, el que arma JwtAuthenticationFilter.
+ *
+ * Las rutas /api siguen abiertas en SecurityConfig; un endpoint que necesita
+ * permisos los pide con require(...): 401 sin token válido, 403 si el rol
+ * no los tiene.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    public static Optional<AuthUserDetails> get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUserDetails user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public static AuthUserDetails require(Permission... permissions) {
+        AuthUserDetails user = get().orElseThrow(() -> new ResponseStatusException(
+                HttpStatus.UNAUTHORIZED,
+                "Debes iniciar sesión para realizar esta acción"
+        ));
+        if (!user.canAll(Permission.maskOf(permissions))) {
+            throw new ResponseStatusException(
+                    HttpStatus.FORBIDDEN,
+                    "Tu rol no tiene permiso para realizar esta acción"
+            );
+        }
+        return user;
+    }
+}
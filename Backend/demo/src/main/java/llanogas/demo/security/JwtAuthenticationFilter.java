@@ -1,9 +1,12 @@
 package llanogas.demo.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import llanogas.demo.modules.auth.domain.AuthUserDetails;
+import llanogas.demo.modules.users.service.UserService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -11,15 +14,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserService userService;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   UserService userService) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userService = userService;
     }
 
     @Override
@@ -28,42 +33,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        String path = request.getServletPath();
-
-        // 🔓 RUTAS PÚBLICAS: NO exigir ni validar token
-        if (path.startsWith("/api/auth")      // login/registro
-                || path.startsWith("/h2-console")
-                || path.startsWith("/api/reports")    // reportes públicos
-                || path.startsWith("/api/users")      // usuarios públicos
-                || path.startsWith("/api/entities")   // entidades públicas
-                || path.startsWith("/api/settings")   // 👈 SETTINGS PÚBLICO
-        ) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        // 👉 Para el resto de rutas, miramos el header Authorization
+        // 👉 En todas las rutas miramos el header Authorization. Las públicas
+        // siguen abiertas (SecurityConfig), pero si viene token se arma el
+        // usuario para que los endpoints puedan revisar sus permisos (CurrentUser)
         String authHeader = request.getHeader("Authorization");
 
-        String token = null;
-        String email = null;
+        AuthUserDetails principal = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            String token = authHeader.substring(7);
 
-            if (jwtTokenProvider.validateToken(token)) {
-                email = jwtTokenProvider.getEmailFromToken(token);
-            }
+            // Una sola verificación de firma (o ninguna si ya está en caché)
+            principal = jwtTokenProvider.parseClaims(token)
+                    .map(this::toPrincipal)
+                    .orElse(null);
         }
 
-        // Si hay email válido y aún no hay autenticación en el contexto, la creamos
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Si hay usuario válido y aún no hay autenticación en el contexto, la creamos
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
-                            email,
+                            principal,
                             null,
-                            Collections.emptyList() // sin roles por ahora
+                            principal.getAuthorities()
                     );
 
             authentication.setDetails(
@@ -76,4 +69,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Siempre seguimos la cadena
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Principal desde los claims. Los tokens emitidos antes de llevar id y
+     * rol se resuelven con la caché de usuarios de UserService (a la base
+     * sólo la primera vez); si el usuario ya no existe, no se autentica.
+     */
+    private AuthUserDetails toPrincipal(Claims claims) {
+        String email = claims.getSubject();
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        if (userId != null) {
+            return new AuthUserDetails(userId, email, null, claims.get(JwtTokenProvider.CLAIM_ROLE, String.class));
+        }
+        return userService.findLoginUser(email)
+                .map(c -> new AuthUserDetails(c.id(), c.email(), null, c.user().getRoleId()))
+                .orElse(null);
+    }
 }
@@ -1,8 +1,9 @@
 package llanogas.demo.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,8 +11,23 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;        // 👈 importa este
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Emite y valida los JWT.
+ *
+ * La validación verifica la firma una sola vez por token: el parser se arma
+ * al arrancar (es inmutable y seguro entre hilos) y los claims de los tokens
+ * ya verificados quedan en memoria, por el hash SHA-256 del token, hasta que
+ * el token vence. Así cada request autenticado no repite el HMAC ni el
+ * parseo del JSON.
+ */
 @Component
 public class JwtTokenProvider {
 
@@ -21,46 +37,129 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration-ms:86400000}")
     private long expirationMs;
 
+    @Value("${app.jwt.claims-cache-max:10000}")
+    private int claimsCacheMax;
+
     // 👈 usa SecretKey en vez de java.security.Key
     private SecretKey signingKey;
 
+    private JwtParser parser;
+
+    // Tokens ya verificados; se van al vencer o por LRU si se llena
+    private Map<String, Claims> verified;
+
     @PostConstruct
     public void init() {
         // hmacShaKeyFor devuelve un SecretKey
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        int max = Math.max(1, claimsCacheMax);
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > max;
+            }
+        };
     }
 
+    // Claims propios: id del usuario y code del rol
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     public String generateToken(String email) {
+        return generateToken(null, email, null);
+    }
+
+    /**
+     * Token con el id y el rol del usuario, para que el filtro arme el
+     * principal (AuthUserDetails) sin ir a la base. Los permisos no van en
+     * el token: se resuelven del rol con RolePermissions.
+     */
+    public String generateToken(Long userId, String email, String roleCode) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
                 .subject(email)          // API 0.12.x
+                .claim(CLAIM_USER_ID, userId)   // los null no se escriben
+                .claim(CLAIM_ROLE, roleCode)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(signingKey)    // HMAC (HS256 por defecto)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Claims del token si la firma es válida y no venció; vacío si no.
+     * Sólo los tokens con fecha de vencimiento quedan en caché.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (verified) {
+            Claims cached = verified.get(key);
+            if (cached != null) {
+                if (now < cached.getExpiration().getTime()) {
+                    return Optional.of(cached);
+                }
+                verified.remove(key);
+                return Optional.empty();
+            }
+        }
 
-        return claims.getSubject();
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+
+        if (claims.getExpiration() != null) {
+            synchronized (verified) {
+                purgeExpired(now);
+                verified.put(key, claims);
+            }
+        }
+        return Optional.of(claims);
+    }
+
+    public String getEmailFromToken(String token) {
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Token inválido o vencido"));
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    // Se llama con el lock tomado. Recorre desde el menos usado; corta en el
+    // primero vigente porque los que se usan seguido no son los que vencen
+    private void purgeExpired(long now) {
+        var it = verified.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().getExpiration().getTime() > now) {
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(signingKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Todas las JVM traen SHA-256
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -1,5 +1,6 @@
 package llanogas.demo.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,14 +22,11 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
-
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
-        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
-    }
-
+    // El filtro va como parámetro y no en el constructor: depende de
+    // UserService, que a su vez usa el PasswordEncoder de esta clase
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())
@@ -70,6 +68,9 @@ public class SecurityConfig {
         // headers permitidos
         config.setAllowedHeaders(List.of("*"));
 
+        // el front lee el ETag para mandarlo en If-Match / If-None-Match
+        config.setExposedHeaders(List.of("ETag"));
+
         // si usas Authorization / cookies
         config.setAllowCredentials(true);
 
@@ -78,8 +79,9 @@ public class SecurityConfig {
         return source;
     }
 
+    // Al cambiar el costo, los hashes viejos se rehashean en el siguiente login (AuthService)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
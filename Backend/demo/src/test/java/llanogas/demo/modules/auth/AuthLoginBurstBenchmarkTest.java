@@ -0,0 +1,166 @@
+package llanogas.demo.modules.auth;
+
+import jakarta.persistence.EntityManagerFactory;
+import llanogas.demo.modules.auth.dto.LoginRequest;
+import llanogas.demo.modules.auth.dto.LoginResponse;
+import llanogas.demo.modules.auth.service.AuthService;
+import llanogas.demo.modules.users.domain.Role;
+import llanogas.demo.modules.users.domain.User;
+import llanogas.demo.modules.users.repository.RoleRepository;
+import llanogas.demo.modules.users.repository.UserRepository;
+import llanogas.demo.modules.users.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de login a la hora de entrada: 200 logins de 50 usuarios
+ * lanzados a la vez desde 32 clientes. Reporta logins/s y p99; con la
+ * caché de usuarios caliente cada uno sólo lee el hash de la base.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:login-bench;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.host=localhost",
+        "auth.bcrypt.strength=10",
+        "auth.bcrypt.pool-size=4",
+        "auth.bcrypt.queue-capacity=500",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class AuthLoginBurstBenchmarkTest {
+
+    private static final int USERS = 50;
+    private static final int LOGINS = 200;
+    private static final int CLIENTS = 32;
+    private static final String ROLE = "responsable_reportes";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loginBurstIsServedFromCacheOnTheHashPool() throws Exception {
+        ensureRole();
+        for (int i = 0; i < USERS; i++) {
+            userService.createUser("Usuario " + i, email("burst", i), ROLE, password(i));
+        }
+        // Primer login de cada uno: llena la caché
+        for (int i = 0; i < USERS; i++) {
+            authService.login(request(email("burst", i), password(i))).join();
+        }
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] latencies = new long[LOGINS];
+        List<Future<LoginResponse>> results = new ArrayList<>(LOGINS);
+        for (int n = 0; n < LOGINS; n++) {
+            int i = n % USERS;
+            int slot = n;
+            results.add(clients.submit(() -> {
+                go.await();
+                long t0 = System.nanoTime();
+                LoginResponse response = authService.login(request(email("burst", i), password(i))).join();
+                latencies[slot] = System.nanoTime() - t0;
+                return response;
+            }));
+        }
+
+        long start = System.nanoTime();
+        go.countDown();
+        for (Future<LoginResponse> result : results) {
+            assertNotNull(result.get().getToken());
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        Arrays.sort(latencies);
+        double perSecond = LOGINS / (elapsed / 1e9);
+        double p50 = latencies[LOGINS / 2] / 1e6;
+        double p99 = latencies[(int) Math.ceil(LOGINS * 0.99) - 1] / 1e6;
+        long statements = stats.getPrepareStatementCount();
+        System.out.printf(
+                "[BENCH] login %d x %d clientes: %.1f logins/s, p50 %.1f ms, p99 %.1f ms, %d consultas a la base%n",
+                LOGINS, CLIENTS, perSecond, p50, p99, statements
+        );
+
+        assertEquals(LOGINS, statements, "Con la caché caliente cada login debería leer sólo el hash");
+    }
+
+    @Test
+    void loginRehashesWhenCostChanges() {
+        ensureRole();
+        String email = email("rehash", 0);
+        userService.createUser("Usuario rehash", email, ROLE, password(0));
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode(password(0)));
+        userRepository.save(user);
+
+        authService.login(request(email, password(0))).join();
+
+        String stored = userRepository.findByEmail(email).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$10$"), "El hash debía quedar con costo 10 y quedó " + stored);
+        assertNotNull(authService.login(request(email, password(0))).join().getToken());
+    }
+
+    private void ensureRole() {
+        if (roleRepository.findByCode(ROLE).isEmpty()) {
+            Role role = new Role();
+            role.setCode(ROLE);
+            role.setName("Responsable de reportes");
+            roleRepository.save(role);
+        }
+    }
+
+    private static LoginRequest request(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+
+    private static String email(String prefix, int i) {
+        return prefix + i + "@llanogas.com";
+    }
+
+    private static String password(int i) {
+        return "clave-segura-" + i;
+    }
+}
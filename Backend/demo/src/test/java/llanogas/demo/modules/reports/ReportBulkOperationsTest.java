@@ -0,0 +1,146 @@
+package llanogas.demo.modules.reports;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportBulkRequestDto;
+import llanogas.demo.modules.reports.dto.ReportBulkResultDto;
+import llanogas.demo.modules.reports.dto.ReportCreateDto;
+import llanogas.demo.modules.reports.dto.ReportFilter;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.service.ReportBulkService;
+import llanogas.demo.modules.reports.service.ReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Operaciones masivas de punta a punta: las sentencias UPDATE / DELETE por
+ * bloques de ids (incluida la suma de días en JPQL) se ejecutan de verdad y
+ * sólo tocan la selección.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-bulk;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReportBulkOperationsTest {
+
+    @Autowired
+    private ReportBulkService reportBulkService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Test
+    void rescheduleShiftsDatesAndRefreshesStatus() {
+        LocalDate today = LocalDate.now();
+        Long first = create("RESCHEDULE", "Cierre mensual", today.minusDays(10), 1L);
+        Long second = create("RESCHEDULE", "Cierre trimestral", today.minusDays(10), 1L);
+        Long untouched = create("RESCHEDULE", "Cierre anual", today.minusDays(10), 1L);
+        assertEquals(ReportStatus.VENCIDO, load(first).getStatus());
+
+        ReportBulkRequestDto request = request("reschedule", List.of(first, second));
+        request.setShiftDays(30);
+        ReportBulkResultDto result = reportBulkService.execute(request);
+
+        assertEquals(2, result.getMatched());
+        assertEquals(2, result.getAffected());
+        assertEquals(2, result.getStatusChanged());
+        for (Long id : List.of(first, second)) {
+            Report report = load(id);
+            assertEquals(today.plusDays(20), report.getFechaInicio());
+            assertEquals(today.plusDays(22), report.getFechaLimiteEnvio());
+            assertEquals(ReportStatus.DENTRO_DEL_PLAZO, report.getStatus());
+        }
+        Report other = load(untouched);
+        assertEquals(today.minusDays(10), other.getFechaInicio());
+        assertEquals(ReportStatus.VENCIDO, other.getStatus());
+    }
+
+    @Test
+    void reassignByFilterKeepsUnsetAssignee() {
+        Long first = create("REASSIGN", "Balance", LocalDate.now().plusDays(5), 11L);
+        Long second = create("REASSIGN", "Tarifas", LocalDate.now().plusDays(5), 11L);
+        Long outside = create("OTRA-ENTIDAD", "Balance", LocalDate.now().plusDays(5), 11L);
+
+        ReportFilter filter = new ReportFilter();
+        filter.setEntidadControl("REASSIGN");
+        ReportBulkRequestDto request = request("reassign", null);
+        request.setFilter(filter);
+        request.setResponsableElaboracionUserId(22L);
+        ReportBulkResultDto result = reportBulkService.execute(request);
+
+        assertEquals(2, result.getAffected());
+        for (Long id : List.of(first, second)) {
+            Report report = load(id);
+            assertEquals(22L, report.getResponsableElaboracionUserId());
+            assertEquals(99L, report.getSupervisorCumplimientoUserId());
+        }
+        assertEquals(11L, load(outside).getResponsableElaboracionUserId());
+    }
+
+    @Test
+    void deleteRemovesOnlySelection() {
+        Long first = create("DELETE", "Informe A", LocalDate.now(), 1L);
+        Long second = create("DELETE", "Informe B", LocalDate.now(), 1L);
+        Long kept = create("DELETE", "Informe C", LocalDate.now(), 1L);
+
+        ReportBulkResultDto result = reportBulkService.execute(request("delete", List.of(first, second)));
+
+        assertEquals(2, result.getAffected());
+        assertFalse(reportRepository.existsById(first));
+        assertFalse(reportRepository.existsById(second));
+        assertTrue(reportRepository.existsById(kept));
+    }
+
+    @Test
+    void emptySelectionIsRejected() {
+        assertThrows(ResponseStatusException.class,
+                () -> reportBulkService.execute(request("delete", null)));
+    }
+
+    private Long create(String entidad, String nombre, LocalDate fechaInicio, Long responsableId) {
+        ReportCreateDto dto = new ReportCreateDto();
+        dto.setEntidadControl(entidad);
+        dto.setNombreReporte(nombre);
+        dto.setInformacionContenido("contenido");
+        dto.setFrecuencia("Mensual");
+        dto.setFechaInicio(fechaInicio);
+        dto.setFechaLimiteEnvio(fechaInicio.plusDays(2));
+        dto.setResponsableElaboracionUserId(responsableId);
+        dto.setSupervisorCumplimientoUserId(99L);
+        return reportService.createReport(dto).getId();
+    }
+
+    private Report load(Long id) {
+        return reportRepository.findById(id).orElseThrow();
+    }
+
+    private static ReportBulkRequestDto request(String operation, List<Long> ids) {
+        ReportBulkRequestDto request = new ReportBulkRequestDto();
+        request.setOperation(operation);
+        request.setIds(ids);
+        return request;
+    }
+}
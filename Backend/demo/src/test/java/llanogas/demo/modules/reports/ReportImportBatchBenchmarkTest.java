@@ -0,0 +1,125 @@
+package llanogas.demo.modules.reports;
+
+import jakarta.persistence.EntityManagerFactory;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.repository.ReportOccurrenceRepository;
+import llanogas.demo.modules.reports.service.ReportService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de importación: 10.000 reportes vía ReportService.importReports
+ * deben salir en batches de JDBC y no como un INSERT por fila.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-bench;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.mail.host=localhost",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReportImportBatchBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReportOccurrenceRepository occurrenceRepository;
+
+    @Autowired
+    @Qualifier("reportOccurrenceExecutor")
+    private ThreadPoolTaskExecutor occurrenceExecutor;
+
+    @Test
+    void importOf10kRowsIsBatched() throws Exception {
+        List<ReportImportDto> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(row(i));
+        }
+
+        // Los períodos se generan después del commit en su propio hilo: se
+        // retiene ese hilo para que no entren en la medición
+        CountDownLatch hold = new CountDownLatch(1);
+        occurrenceExecutor.execute(() -> {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        long start = System.nanoTime();
+        reportService.importReports(rows);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long inserts = stats.getEntityInsertCount();
+        long statements = stats.getPrepareStatementCount();
+        System.out.printf(
+                "[BENCH] import %d reportes: %d ms, %d inserts, %d sentencias preparadas (%.1f filas/sentencia)%n",
+                ROWS, elapsedMs, inserts, statements, (double) inserts / statements
+        );
+
+        assertEquals(ROWS, inserts);
+        // Un INSERT por batch + un nextval cada 50 ids (más algo de margen)
+        long expectedMax = 2L * ROWS / BATCH_SIZE + 10;
+        assertTrue(statements <= expectedMax,
+                "Se esperaban <= " + expectedMax + " sentencias y hubo " + statements);
+
+        hold.countDown();
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (occurrenceExecutor.getActiveCount() > 0 || occurrenceExecutor.getQueueSize() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Los períodos no se generaron a tiempo");
+            Thread.sleep(50);
+        }
+        assertTrue(occurrenceRepository.count() >= ROWS, "Cada reporte debía quedar con sus períodos");
+    }
+
+    private static ReportImportDto row(int i) {
+        ReportImportDto dto = new ReportImportDto();
+        dto.setEntidadControl("SUI");
+        dto.setNombreReporte("Reporte " + i);
+        dto.setInformacionContenido("Información del reporte " + i);
+        dto.setFrecuencia("Mensual");
+        dto.setCargoResponsableEnvio("Analista");
+        dto.setResponsableElaboracionName("Responsable " + i);
+        dto.setEmailResponsableEnvio("responsable" + i + "@llanogas.com");
+        dto.setResponsableSupervisionName("Líder " + i);
+        dto.setEmailLiderSeguimiento("lider" + i + "@llanogas.com");
+        dto.setGerenciaResponsable("Gerencia Comercial");
+        dto.setBaseLegal("Resolución SSPD " + i);
+        dto.setFechaLimiteEnvio(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+        return dto;
+    }
+}
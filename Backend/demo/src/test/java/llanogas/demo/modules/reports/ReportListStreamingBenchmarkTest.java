@@ -0,0 +1,194 @@
+package llanogas.demo.modules.reports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import llanogas.demo.modules.reports.dto.ReportDto;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.service.ReportJsonStreamService;
+import llanogas.demo.modules.reports.service.ReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark del listado completo: con 5.000 reportes, escribir el JSON
+ * directo desde el cursor JDBC (ReportJsonStreamService) debe mandar el
+ * primer byte antes que el camino anterior (entidades -> lista de DTOs ->
+ * Jackson), y el JSON resultante debe ser el mismo.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-stream-bench;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.mail.host=localhost",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReportListStreamingBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportJsonStreamService reportJsonStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamingListStartsSoonerWithSameJson() throws IOException {
+        List<ReportImportDto> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(row(i));
+        }
+        reportService.importReports(rows);
+
+        // Calentamiento (JIT y caches de consultas) antes de medir
+        buffered();
+        streamed();
+
+        long bufferedFirst = Long.MAX_VALUE;
+        long bufferedTotal = Long.MAX_VALUE;
+        long streamedFirst = Long.MAX_VALUE;
+        long streamedTotal = Long.MAX_VALUE;
+        TimedOutput lastBuffered = null;
+        TimedOutput lastStreamed = null;
+        for (int i = 0; i < RUNS; i++) {
+            lastBuffered = buffered();
+            bufferedFirst = Math.min(bufferedFirst, lastBuffered.firstByteNanos());
+            bufferedTotal = Math.min(bufferedTotal, lastBuffered.totalNanos());
+
+            lastStreamed = streamed();
+            streamedFirst = Math.min(streamedFirst, lastStreamed.firstByteNanos());
+            streamedTotal = Math.min(streamedTotal, lastStreamed.totalNanos());
+        }
+
+        System.out.printf(
+                "[BENCH] listado %d reportes (%d KB): DTOs primer byte %.1f ms / total %.1f ms; "
+                        + "streaming primer byte %.1f ms / total %.1f ms%n",
+                ROWS, lastStreamed.size() / 1024,
+                bufferedFirst / 1e6, bufferedTotal / 1e6,
+                streamedFirst / 1e6, streamedTotal / 1e6
+        );
+
+        JsonNode expected = objectMapper.readTree(lastBuffered.toByteArray());
+        JsonNode actual = objectMapper.readTree(lastStreamed.toByteArray());
+        assertEquals(ROWS, actual.size());
+        assertEquals(expected, actual);
+
+        assertTrue(streamedFirst < bufferedFirst,
+                "El primer byte por streaming (" + streamedFirst / 1_000_000 + " ms) debía salir antes que con DTOs ("
+                        + bufferedFirst / 1_000_000 + " ms)");
+    }
+
+    // Lo que hacía GET /api/reports: entidades, lista de DTOs y después Jackson
+    private TimedOutput buffered() throws IOException {
+        TimedOutput out = new TimedOutput();
+        List<ReportDto> reports = new ArrayList<>(reportService.findAll());
+        // El streaming sale ordenado por id; para comparar el JSON se ordena igual
+        reports.sort(Comparator.comparing(ReportDto::getId));
+        objectMapper.writeValue(out, reports);
+        out.finish();
+        return out;
+    }
+
+    private TimedOutput streamed() throws IOException {
+        TimedOutput out = new TimedOutput();
+        reportJsonStreamService.streamAll().writeTo(out);
+        out.finish();
+        return out;
+    }
+
+    private static ReportImportDto row(int i) {
+        ReportImportDto dto = new ReportImportDto();
+        dto.setIdReporte("RPT-" + i);
+        dto.setEntidadControl("SUI");
+        dto.setNombreReporte("Reporte " + i);
+        dto.setInformacionContenido("Información del reporte " + i);
+        dto.setFrecuencia("Mensual");
+        dto.setCargoResponsableEnvio("Analista");
+        dto.setResponsableElaboracionName("Responsable " + i);
+        dto.setEmailResponsableEnvio("responsable" + i + "@llanogas.com");
+        dto.setResponsableSupervisionName("Líder " + i);
+        dto.setEmailLiderSeguimiento("lider" + i + "@llanogas.com");
+        dto.setGerenciaResponsable("Gerencia Comercial");
+        dto.setBaseLegal("Resolución SSPD " + i);
+        dto.setFechaInicio(LocalDate.of(2025, 1, 1));
+        dto.setFechaLimiteEnvio(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+        return dto;
+    }
+
+    /**
+     * Guarda lo escrito y marca cuándo llegó el primer byte, contando desde
+     * que se creó (el inicio de la "request").
+     */
+    private static class TimedOutput extends OutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final long start = System.nanoTime();
+        private long firstByteAt = -1;
+        private long finishedAt = -1;
+
+        @Override
+        public void write(int b) {
+            markFirstByte();
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len > 0) {
+                markFirstByte();
+            }
+            bytes.write(b, off, len);
+        }
+
+        private void markFirstByte() {
+            if (firstByteAt < 0) {
+                firstByteAt = System.nanoTime();
+            }
+        }
+
+        void finish() {
+            finishedAt = System.nanoTime();
+        }
+
+        long firstByteNanos() {
+            return firstByteAt - start;
+        }
+
+        long totalNanos() {
+            return finishedAt - start;
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
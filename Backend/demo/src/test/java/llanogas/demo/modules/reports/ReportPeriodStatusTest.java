@@ -0,0 +1,148 @@
+package llanogas.demo.modules.reports;
+
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.domain.ReportAttachment;
+import llanogas.demo.modules.reports.domain.ReportOccurrence;
+import llanogas.demo.modules.reports.domain.ReportStatus;
+import llanogas.demo.modules.reports.dto.ReportCreateDto;
+import llanogas.demo.modules.reports.repository.ReportOccurrenceRepository;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.service.ReportAttachmentService;
+import llanogas.demo.modules.reports.service.ReportService;
+import llanogas.demo.modules.reports.service.ReportStatusSweeper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Estado de reportes recurrentes: el acuse es de un período y el estado
+ * del reporte sale del período vigente, no del primer acuse que tuvo.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-period-status;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "reports.attachments.dir=target/test-attachments",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReportPeriodStatusTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportAttachmentService attachmentService;
+
+    @Autowired
+    private ReportStatusSweeper statusSweeper;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ReportOccurrenceRepository occurrenceRepository;
+
+    @Test
+    void acuseOfNextPeriodDoesNotCoverCurrentOne() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        Long id = create("Balance mensual", today.plusDays(1));
+        ReportOccurrence next = occurrence(id, 1);
+
+        attachmentService.upload(id, acuse(), ReportAttachment.KIND_ACUSE, next.getId(), null);
+
+        Report report = load(id);
+        assertEquals(ReportStatus.DENTRO_DEL_PLAZO, report.getStatus());
+        assertEquals(today.plusDays(1), report.getCurrentDueDate());
+        assertNull(report.getCurrentAcuseDate());
+        assertEquals(today, occurrenceRepository.findById(next.getId()).orElseThrow().getAcuseDate());
+    }
+
+    @Test
+    void acuseOfCurrentPeriodMarksItSent() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        Long id = create("Tarifas mensuales", today.plusDays(1));
+        occurrence(id, 0);
+
+        attachmentService.upload(id, acuse(), ReportAttachment.KIND_ACUSE, null, null);
+
+        Report report = load(id);
+        assertEquals(ReportStatus.ENVIADO_A_TIEMPO, report.getStatus());
+        assertEquals(today, report.getCurrentAcuseDate());
+    }
+
+    @Test
+    void sweepMovesSentReportToNextPeriod() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        Long id = create("Cierre mensual", today.plusDays(1));
+        occurrence(id, 0);
+        attachmentService.upload(id, acuse(), ReportAttachment.KIND_ACUSE, null, null);
+        assertEquals(ReportStatus.ENVIADO_A_TIEMPO, load(id).getStatus());
+
+        // Sigue enviado mientras dura la gracia del período
+        statusSweeper.sweep(today.plusDays(3));
+        assertEquals(ReportStatus.ENVIADO_A_TIEMPO, load(id).getStatus());
+
+        // Después el vigente es el mes siguiente, todavía sin acuse
+        statusSweeper.sweep(today.plusDays(4));
+        Report report = load(id);
+        assertEquals(ReportStatus.DENTRO_DEL_PLAZO, report.getStatus());
+        assertEquals(today.plusDays(1).plusMonths(1), report.getCurrentDueDate());
+        assertNull(report.getCurrentAcuseDate());
+
+        // Y el barrido por fechas lo sigue moviendo sobre ese vencimiento
+        statusSweeper.sweep(today.plusDays(1).plusMonths(1).plusDays(3));
+        assertEquals(ReportStatus.VENCIDO, load(id).getStatus());
+    }
+
+    private Long create(String nombre, LocalDate fechaInicio) {
+        ReportCreateDto dto = new ReportCreateDto();
+        dto.setEntidadControl("PERIODOS");
+        dto.setNombreReporte(nombre);
+        dto.setInformacionContenido("contenido");
+        dto.setFrecuencia("Mensual");
+        dto.setFechaInicio(fechaInicio);
+        dto.setFechaLimiteEnvio(fechaInicio.plusDays(2));
+        return reportService.createReport(dto).getId();
+    }
+
+    // Los períodos se materializan después del commit, en otro hilo
+    private ReportOccurrence occurrence(Long reportId, int periodIndex) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<ReportOccurrence> occurrences = occurrenceRepository.findByReportIdIn(List.of(reportId));
+            for (ReportOccurrence occurrence : occurrences) {
+                if (occurrence.getPeriodIndex() == periodIndex) {
+                    return occurrence;
+                }
+            }
+            Thread.sleep(50);
+        }
+        return fail("No se materializó el período " + periodIndex + " del reporte " + reportId);
+    }
+
+    private static MockMultipartFile acuse() {
+        return new MockMultipartFile("file", "acuse.pdf", "application/pdf",
+                "acuse".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Report load(Long id) {
+        return reportRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package llanogas.demo.modules.reports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import llanogas.demo.modules.reports.domain.Report;
+import llanogas.demo.modules.reports.dto.ReportCreateDto;
+import llanogas.demo.modules.reports.dto.ReportImportDto;
+import llanogas.demo.modules.reports.dto.ReportImportResultDto;
+import llanogas.demo.modules.reports.repository.ReportRepository;
+import llanogas.demo.modules.reports.service.ReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Re-importación (upsert): las filas deben engancharse a los reportes que
+ * ya existen por su llave natural y nunca duplicarlos ni borrarles el id.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:report-upsert;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReportUpsertTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Test
+    void nameMatchIgnoresCaseAndSpacing() {
+        reportService.upsertReports(List.of(row(null, "SSPD", "Informe  de Gestión Anual", "v1")));
+
+        ReportImportResultDto result = reportService.upsertReports(
+                List.of(row(null, " sspd ", "informe de   gestión anual ", "v2")));
+
+        assertEquals(0, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        List<Report> reports = reportsOf("sspd");
+        assertEquals(1, reports.size());
+        assertEquals("v2", reports.get(0).getInformacionContenido());
+    }
+
+    @Test
+    void newIdAttachesToLegacyRowWithoutId() {
+        reportService.upsertReports(List.of(row(null, "CREG", "Formato tarifario", "v1")));
+
+        ReportImportResultDto result = reportService.upsertReports(
+                List.of(row("REP-LEGACY-1", "CREG", "formato  tarifario", "v2")));
+
+        assertEquals(0, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        List<Report> reports = reportsOf("creg");
+        assertEquals(1, reports.size());
+        assertEquals("REP-LEGACY-1", reports.get(0).getIdReporte());
+    }
+
+    @Test
+    void nameMatchKeepsExistingId() {
+        reportService.upsertReports(List.of(row("REP-KEEP-1", "SUI", "Cargue comercial", "v1")));
+
+        ReportImportResultDto result = reportService.upsertReports(
+                List.of(row(null, "SUI", "Cargue comercial", "v2")));
+
+        assertEquals(1, result.getUpdated());
+        List<Report> reports = reportsOf("sui");
+        assertEquals(1, reports.size());
+        assertEquals("REP-KEEP-1", reports.get(0).getIdReporte());
+        assertEquals("v2", reports.get(0).getInformacionContenido());
+    }
+
+    @Test
+    void idRowDoesNotTakeOverReportWithAnotherId() {
+        reportService.upsertReports(List.of(row("REP-A", "MINENERGIA", "Balance", "v1")));
+
+        ReportImportResultDto result = reportService.upsertReports(
+                List.of(row("REP-B", "MINENERGIA", "Balance", "v1")));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(2, reportsOf("minenergia").size());
+    }
+
+    @Test
+    void reimportRestoresManualEdits() {
+        ReportImportDto original = row("REP-EDIT-1", "ANH", "Regalías", "v1");
+        ReportImportDto second = row("REP-EDIT-2", "ANH", "Producción", "v1");
+        reportService.upsertReports(List.of(original, second));
+        List<Report> reports = reportsOf("anh");
+        Long first = reports.get(0).getId();
+        Long other = reports.get(1).getId();
+
+        // PUT
+        ReportCreateDto edit = new ReportCreateDto();
+        edit.setInformacionContenido("editado a mano");
+        reportService.updateReport(first, edit);
+        // PATCH
+        reportService.patchReport(other, new ObjectMapper().createObjectNode().put("baseLegal", "Ley 142"), null);
+
+        ReportImportResultDto result = reportService.upsertReports(List.of(original, second));
+
+        assertEquals(2, result.getUpdated());
+        assertEquals("v1", reportService.findById(first).getInformacionContenido());
+        assertNull(reportService.findById(other).getBaseLegal());
+    }
+
+    private List<Report> reportsOf(String entidad) {
+        return reportRepository.findAll().stream()
+                .filter(r -> r.getEntidadControl().trim().equalsIgnoreCase(entidad))
+                .sorted(Comparator.comparing(Report::getId))
+                .toList();
+    }
+
+    private static ReportImportDto row(String idReporte, String entidad, String nombre, String contenido) {
+        ReportImportDto dto = new ReportImportDto();
+        dto.setIdReporte(idReporte);
+        dto.setEntidadControl(entidad);
+        dto.setNombreReporte(nombre);
+        dto.setInformacionContenido(contenido);
+        dto.setFrecuencia("Mensual");
+        return dto;
+    }
+}
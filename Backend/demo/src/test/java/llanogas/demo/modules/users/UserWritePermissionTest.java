@@ -0,0 +1,121 @@
+package llanogas.demo.modules.users;
+
+import llanogas.demo.modules.users.domain.Role;
+import llanogas.demo.modules.users.domain.User;
+import llanogas.demo.modules.users.repository.RoleRepository;
+import llanogas.demo.modules.users.repository.UserRepository;
+import llanogas.demo.modules.users.service.UserService;
+import llanogas.demo.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Crear y eliminar usuarios exige el permiso nav.users del token; el
+ * listado sigue abierto.
+ *
+ * Corre contra H2 en memoria para no tocar la base real.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-permissions;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.mail.host=localhost",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@AutoConfigureMockMvc
+class UserWritePermissionTest {
+
+    private static final String NEW_USER = """
+            {"fullName":"Ana Pérez","email":"%s","roleId":"consulta_auditoria","password":"clave-segura-1"}
+            """;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    void roles() {
+        ensureRole("admin", "Administrador del sistema");
+        ensureRole("consulta_auditoria", "Consulta / auditoría");
+    }
+
+    @Test
+    void createRequiresUsersPermission() throws Exception {
+        String email = "permiso-crear@llanogas.com";
+
+        mvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(NEW_USER.formatted(email)))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(NEW_USER.formatted(email))
+                        .header(HttpHeaders.AUTHORIZATION, bearer("consulta_auditoria")))
+                .andExpect(status().isForbidden());
+        assertFalse(userRepository.findByEmail(email).isPresent());
+
+        mvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(NEW_USER.formatted(email))
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin")))
+                .andExpect(status().isOk());
+        assertTrue(userRepository.findByEmail(email).isPresent());
+    }
+
+    @Test
+    void deleteRequiresUsersPermission() throws Exception {
+        User user = userService.createUser("Luis Gómez", "permiso-borrar@llanogas.com",
+                "consulta_auditoria", "clave-segura-2");
+
+        mvc.perform(delete("/api/users/{id}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("consulta_auditoria")))
+                .andExpect(status().isForbidden());
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+
+        mvc.perform(delete("/api/users/{id}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin")))
+                .andExpect(status().isOk());
+        assertFalse(userRepository.findById(user.getId()).isPresent());
+    }
+
+    @Test
+    void listStaysOpen() throws Exception {
+        mvc.perform(get("/api/users")).andExpect(status().isOk());
+    }
+
+    private String bearer(String roleCode) {
+        return "Bearer " + jwtTokenProvider.generateToken(9000L, roleCode + "@llanogas.com", roleCode);
+    }
+
+    private void ensureRole(String code, String name) {
+        if (roleRepository.findByCode(code).isEmpty()) {
+            Role role = new Role();
+            role.setCode(code);
+            role.setName(name);
+            roleRepository.save(role);
+        }
+    }
+}
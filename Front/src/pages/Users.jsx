@@ -1,5 +1,6 @@
 // src/pages/Users.jsx
 import React, { useEffect, useMemo, useState } from "react";
+import useAuth from "../hooks/useAuth";
 
 export const ROLE_DEFS = [
   {
@@ -64,6 +65,10 @@ function validateUser(form, users, editingId) {
 }
 
 export default function Users() {
+  const { token } = useAuth();
+  // Crear, editar y eliminar exigen el permiso nav.users en el backend
+  const authHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(true);
   const [loadingError, setLoadingError] = useState(null);
@@ -198,7 +203,10 @@ export default function Users() {
 
     setDeletingId(id);
     try {
-      const res = await fetch(`${API_BASE}/${id}`, { method: "DELETE" });
+      const res = await fetch(`${API_BASE}/${id}`, {
+        method: "DELETE",
+        headers: { ...authHeaders },
+      });
       if (!res.ok) throw new Error("No se pudo eliminar el usuario.");
       setUsers((prev) => prev.filter((u) => u.id !== id));
     } catch (err) {
@@ -237,7 +245,7 @@ export default function Users() {
       if (editingId) {
         const res = await fetch(`${API_BASE}/${editingId}`, {
           method: "PUT",
-          headers: { "Content-Type": "application/json" },
+          headers: { "Content-Type": "application/json", ...authHeaders },
           body: JSON.stringify(payload),
         });
         if (!res.ok) throw new Error("No se pudo actualizar el usuario.");
@@ -248,7 +256,7 @@ export default function Users() {
       } else {
         const res = await fetch(API_BASE, {
           method: "POST",
-          headers: { "Content-Type": "application/json" },
+          headers: { "Content-Type": "application/json", ...authHeaders },
           body: JSON.stringify(payload),
         });
         if (!res.ok) throw new Error("No se pudo crear el usuario.");